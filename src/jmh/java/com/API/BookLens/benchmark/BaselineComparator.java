@@ -0,0 +1,90 @@
+package com.API.BookLens.benchmark;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Compares a JMH JSON result file with the committed baseline and exits with
+ * a non-zero status when a benchmark got slower than the allowed threshold.
+ *
+ * Usage: BaselineComparator baseline.json result.json [threshold]
+ */
+public class BaselineComparator {
+
+    public static void main(String[] args) throws IOException {
+        Path baselineFile = Path.of(args[0]);
+        Path resultFile = Path.of(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.25;
+
+        if (!Files.exists(baselineFile)) {
+            System.out.println("No baseline at " + baselineFile + ", copy " + resultFile + " there to create one.");
+            return;
+        }
+        Map<String, Score> baseline = read(baselineFile);
+        Map<String, Score> current = read(resultFile);
+
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null || !before.unit().equals(after.unit())) {
+                System.out.printf("NEW   %-70s %12.3f %s%n", entry.getKey(), after.value(), after.unit());
+                continue;
+            }
+            double change = after.higherIsBetter()
+                    ? (before.value() - after.value()) / before.value()
+                    : (after.value() - before.value()) / before.value();
+            boolean regressed = change > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-5s %-70s %12.3f -> %12.3f %s (%+.1f%% slower)%n", regressed ? "SLOW" : "OK",
+                    entry.getKey(), before.value(), after.value(), after.unit(), change * 100);
+        }
+
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) regressed by more than " + (int) (threshold * 100) + "%");
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            JsonArray runs = JsonParser.parseReader(reader).getAsJsonArray();
+            for (JsonElement element : runs) {
+                JsonObject run = element.getAsJsonObject();
+                String key = run.get("benchmark").getAsString() + params(run);
+                JsonObject metric = run.getAsJsonObject("primaryMetric");
+                boolean higherIsBetter = run.get("mode").getAsString().equals("thrpt");
+                scores.put(key, new Score(metric.get("score").getAsDouble(), metric.get("scoreUnit").getAsString(),
+                        higherIsBetter));
+            }
+        }
+        return scores;
+    }
+
+    private static String params(JsonObject run) {
+        if (!run.has("params")) {
+            return "";
+        }
+        Map<String, String> params = new TreeMap<>();
+        run.getAsJsonObject("params").entrySet()
+                .forEach(param -> params.put(param.getKey(), param.getValue().getAsString()));
+        return params.toString();
+    }
+
+    private record Score(double value, String unit, boolean higherIsBetter) {
+    }
+
+}
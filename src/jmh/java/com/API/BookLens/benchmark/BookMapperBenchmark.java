@@ -0,0 +1,48 @@
+package com.API.BookLens.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.API.BookLens.dto.AuthorDTO;
+import com.API.BookLens.dto.BookResultDTO;
+import com.API.BookLens.model.Book;
+import com.API.BookLens.service.BookMapper;
+
+/**
+ * Maps a parsed API result to a Book and its Author.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BookMapperBenchmark {
+
+    private final BookResultDTO result = new BookResultDTO(2701, "Moby Dick; Or, The Whale",
+            List.of(new AuthorDTO("Melville, Herman", 1819, 1891)), List.of("en"), 92_135);
+
+    private final BookResultDTO anonymous = new BookResultDTO(16328, "Beowulf: An Anglo-Saxon Epic Poem",
+            List.of(new AuthorDTO("Anonymous", null, null)), List.of("en"), 12_004);
+
+    @Benchmark
+    public Book toBook() {
+        return BookMapper.toBook(result);
+    }
+
+    @Benchmark
+    public Book toBookWithUnknownYears() {
+        return BookMapper.toBook(anonymous);
+    }
+
+}
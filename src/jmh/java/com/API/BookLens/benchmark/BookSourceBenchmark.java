@@ -0,0 +1,154 @@
+package com.API.BookLens.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.API.BookLens.dto.BookResultDTO;
+import com.API.BookLens.service.ApiClient;
+import com.API.BookLens.service.BookSource;
+import com.API.BookLens.service.CompositeBookSource;
+import com.API.BookLens.service.GutendexBookSource;
+import com.API.BookLens.service.MirrorBookSource;
+import com.API.BookLens.service.ResponseCache;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Searches and fetches 32 books by id through each book source. Gutendex is
+ * played by a local server answering full-size results from the same
+ * catalog, with the response cache bypassed, so the numbers cover the HTTP
+ * round trip and parsing but not the internet. The mirror dump holds the
+ * first three quarters of the catalog, so a quarter of the composite's
+ * searches and lookups fall back to the server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BookSourceBenchmark {
+
+    private static final int BOOKS = 4_000;
+    private static final int MIRRORED = BOOKS * 3 / 4;
+    private static final int IDS = 32;
+
+    @Param({ "gutendex", "mirror", "composite" })
+    String source;
+
+    private final Map<Integer, String> results = new HashMap<>();
+    private HttpServer server;
+    private Path dump;
+    private Path catalog;
+    private MirrorBookSource upstreamIndex;
+    private ApiClient client;
+    private GutendexBookSource gutendex;
+    private BookSource bookSource;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            results.put(i + 1, GutendexPayloads.result(i + 1, i));
+            if (i < MIRRORED) {
+                lines.add(results.get(i + 1));
+            }
+        }
+        dump = Files.createTempFile("mirror", ".jsonl");
+        Files.write(dump, lines);
+        catalog = Files.createTempFile("catalog", ".jsonl");
+        Files.write(catalog, results.values());
+        upstreamIndex = new MirrorBookSource(catalog);
+
+        // without it the JDK server delays small responses on reused connections
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/books/", this::listing);
+        server.start();
+
+        client = new ApiClient(Duration.ofSeconds(10), 0, 8);
+        // a negative TTL and window make every search a request
+        ResponseCache uncached = new ResponseCache(client::get, Duration.ofMillis(-1), Duration.ofMillis(-1), 0,
+                null, Clock.systemUTC());
+        gutendex = new GutendexBookSource(client, uncached,
+                "http://localhost:" + server.getAddress().getPort() + "/books/");
+        MirrorBookSource mirror = new MirrorBookSource(dump);
+        bookSource = switch (source) {
+            case "gutendex" -> gutendex;
+            case "mirror" -> mirror;
+            default -> new CompositeBookSource(List.of(mirror, gutendex));
+        };
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        gutendex.close();
+        server.stop(0);
+        Files.deleteIfExists(dump);
+        Files.deleteIfExists(catalog);
+    }
+
+    @Benchmark
+    public List<BookResultDTO> search() {
+        int book = next++ % BOOKS;
+        return bookSource.search("number " + book + ":").join();
+    }
+
+    @Benchmark
+    public List<BookResultDTO> fetchByIds() {
+        int first = (next++ * IDS) % BOOKS;
+        List<Integer> ids = new ArrayList<>(IDS);
+        for (int i = 0; i < IDS; i++) {
+            ids.add((first + i) % BOOKS + 1);
+        }
+        return bookSource.fetchByIds(ids).join();
+    }
+
+    private void listing(HttpExchange exchange) throws IOException {
+        String query = URLDecoder.decode(exchange.getRequestURI().getRawQuery(), StandardCharsets.UTF_8);
+        List<BookResultDTO> matches = query.startsWith("ids=")
+                ? upstreamIndex.fetchByIds(Arrays.stream(query.substring(4).split(","))
+                        .map(Integer::valueOf)
+                        .toList()).join()
+                : upstreamIndex.search(query.substring("search=".length())).join();
+        StringBuilder json = new StringBuilder("{\"count\":").append(matches.size())
+                .append(",\"next\":null,\"previous\":null,\"results\":[");
+        for (int i = 0; i < matches.size(); i++) {
+            json.append(i > 0 ? "," : "").append(results.get(matches.get(i).id()));
+        }
+        byte[] body = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.API.BookLens.benchmark;
+
+/**
+ * Builds listing pages shaped like real Gutendex responses, including the
+ * fields the application does not map.
+ */
+final class GutendexPayloads {
+
+    private GutendexPayloads() {
+    }
+
+    static String page(int results) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"count\":").append(results * 10)
+                .append(",\"next\":\"https://gutendex.com/books/?page=2&search=a\",\"previous\":null,\"results\":[");
+        for (int i = 0; i < results; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(result(1000 + i, i));
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Builds one result object.
+     *
+     * @param id the Gutendex id of the book
+     * @param i  the position of the book, which its title, author and
+     *           download count are derived from
+     */
+    static String result(int id, int i) {
+        return new StringBuilder().append("{\"id\":").append(id)
+                .append(",\"title\":\"Title number ").append(i).append(": a story\"")
+                .append(",\"authors\":[{\"name\":\"Author ").append(i).append(", Some\",\"birth_year\":")
+                .append(1800 + i % 90).append(",\"death_year\":").append(1870 + i % 90).append("}]")
+                .append(",\"translators\":[]")
+                .append(",\"subjects\":[\"Fiction\",\"Adventure stories\",\"Sea stories\",\"Whaling -- Fiction\"]")
+                .append(",\"bookshelves\":[\"Best Books Ever Listings\",\"Adventure\"]")
+                .append(",\"languages\":[\"en\"]")
+                .append(",\"copyright\":false,\"media_type\":\"Text\"")
+                .append(",\"formats\":{")
+                .append("\"text/html\":\"https://www.gutenberg.org/ebooks/").append(id).append(".html.images\",")
+                .append("\"application/epub+zip\":\"https://www.gutenberg.org/ebooks/").append(id)
+                .append(".epub3.images\",")
+                .append("\"text/plain; charset=us-ascii\":\"https://www.gutenberg.org/ebooks/").append(id)
+                .append(".txt.utf-8\",")
+                .append("\"image/jpeg\":\"https://www.gutenberg.org/cache/epub/").append(id)
+                .append("/pg").append(id).append(".cover.medium.jpg\"}")
+                .append(",\"download_count\":").append(50_000 - i).append('}')
+                .toString();
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.API.BookLens.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.API.BookLens.BookLensApplication;
+import com.API.BookLens.model.Author;
+import com.API.BookLens.model.Book;
+import com.API.BookLens.repository.AuthorRepository;
+import com.API.BookLens.repository.BookRepository;
+import com.API.BookLens.service.SearchIndex;
+
+/**
+ * Keeps 1,000 requests in flight across the listing endpoints of the HTTP
+ * API, served from embedded H2 with 1,000 books by 50 authors. The score is
+ * the average time per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class HttpEndpointsBenchmark {
+
+    private static final int CONCURRENCY = 1000;
+    private static final int BOOKS = 1000;
+    private static final int AUTHORS = 50;
+    private static final String[] PATHS = { "/api/books?size=20", "/api/books/language/en?size=20",
+            "/api/books/top", "/api/authors?size=20", "/api/authors/alive?year=1860" };
+
+    private ConfigurableApplicationContext context;
+    private StorageBackend storage;
+    private HttpClient client;
+    private List<HttpRequest> requests;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BookLensApplication.class)
+                .properties("booklens.console.enabled=false", "booklens.refresh.enabled=false",
+                        "server.port=0",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN");
+        storage = StorageBackend.configure(builder, "h2-memory", "http");
+        context = builder.run();
+        List<Author> authors = new ArrayList<>();
+        for (int i = 0; i < AUTHORS; i++) {
+            authors.add(new Author("Author " + i, 1800 + i, 1850 + i));
+        }
+        context.getBean(AuthorRepository.class).saveAll(authors);
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            books.add(new Book("Title " + i, authors.get(i % AUTHORS), "en", i));
+        }
+        context.getBean(BookRepository.class).saveAll(books);
+        context.getBean(SearchIndex.class).rebuild();
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        requests = new ArrayList<>(PATHS.length);
+        for (String path : PATHS) {
+            requests.add(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build());
+        }
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        storage.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENCY)
+    public long concurrentRequests() {
+        List<CompletableFuture<HttpResponse<String>>> sent = new ArrayList<>(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            sent.add(client.sendAsync(requests.get(i % requests.size()), HttpResponse.BodyHandlers.ofString()));
+        }
+        long bytes = 0;
+        for (CompletableFuture<HttpResponse<String>> response : sent) {
+            HttpResponse<String> received = response.join();
+            if (received.statusCode() != 200) {
+                throw new IllegalStateException(received.uri() + " answered " + received.statusCode());
+            }
+            bytes += received.body().length();
+        }
+        return bytes;
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.API.BookLens.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.API.BookLens.BookLensApplication;
+import com.API.BookLens.dto.AuthorDTO;
+import com.API.BookLens.dto.BookResultDTO;
+import com.API.BookLens.model.Author;
+import com.API.BookLens.model.Book;
+import com.API.BookLens.repository.AuthorRepository;
+import com.API.BookLens.repository.BookRepository;
+import com.API.BookLens.service.BookBatchWriter;
+import com.API.BookLens.service.BookMapper;
+
+/**
+ * Maps and writes one ingest batch of new books through the batch writer
+ * against embedded H2. A quarter of the books have a second author and a
+ * fifth a second language, and authors repeat across batches as they do in
+ * the catalog. The same batch is also saved book by book, looking up each
+ * title and author first, as the menu does for a single search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class IngestBenchmark {
+
+    private static final int BATCH = 500;
+    private static final int AUTHORS = 2_000;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private BookBatchWriter writer;
+    private BookRepository bookRepository;
+    private AuthorRepository authorRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BookLensApplication.class)
+                .properties("booklens.console.enabled=false", "booklens.refresh.enabled=false",
+                        "spring.main.web-application-type=none",
+                        "spring.datasource.url=jdbc:h2:mem:ingest;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN")
+                .run();
+        writer = context.getBean(BookBatchWriter.class);
+        bookRepository = context.getBean(BookRepository.class);
+        authorRepository = context.getBean(AuthorRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long writeBatch() {
+        long run = sequence.incrementAndGet();
+        List<Book> books = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            books.add(BookMapper.toBook(result(run, i)));
+        }
+        writer.addAll(books);
+        writer.flush();
+        return writer.getSaved();
+    }
+
+    @Benchmark
+    public long saveOneByOne() {
+        long run = sequence.incrementAndGet();
+        long saved = 0;
+        for (int i = 0; i < BATCH; i++) {
+            Book book = BookMapper.toBook(result(run, i));
+            if (bookRepository.findFirstByTitle(book.getTitle()) != null) {
+                continue;
+            }
+            List<Author> authors = new ArrayList<>(book.getAuthors().size());
+            for (Author author : book.getAuthors()) {
+                Author stored = authorRepository.findFirstByName(author.getName());
+                authors.add(stored != null ? stored : authorRepository.save(author));
+            }
+            book.setAuthors(authors);
+            bookRepository.save(book);
+            saved++;
+        }
+        return saved;
+    }
+
+    private static BookResultDTO result(long run, int i) {
+        int id = (int) (run * BATCH + i);
+        List<AuthorDTO> authors = new ArrayList<>(2);
+        authors.add(new AuthorDTO("Author " + id % AUTHORS + ", Some", 1800 + i % 90, 1870 + i % 90));
+        if (i % 4 == 0) {
+            authors.add(new AuthorDTO("Editor " + id % (AUTHORS / 4) + ", Other", null, null));
+        }
+        List<String> languages = i % 5 == 0 ? List.of("en", "fr") : List.of("en");
+        return new BookResultDTO(id, "Ingested " + run + "-" + i, authors, languages, 50_000 - i);
+    }
+
+}
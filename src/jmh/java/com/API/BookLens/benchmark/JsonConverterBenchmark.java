@@ -0,0 +1,57 @@
+package com.API.BookLens.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.API.BookLens.dto.BookDTO;
+import com.API.BookLens.service.JsonConverter;
+
+/**
+ * Parses listing pages of 1 to 32 results with the tree and streaming paths.
+ * The tree path includes the String the response is buffered into. Run with
+ * -prof gc to compare the bytes allocated per page as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JsonConverterBenchmark {
+
+    @Param({ "1", "8", "32" })
+    int results;
+
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        payload = GutendexPayloads.page(results).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public BookDTO fromJson() {
+        return JsonConverter.fromJson(new String(payload, StandardCharsets.UTF_8), BookDTO.class);
+    }
+
+    @Benchmark
+    public void streamResults(Blackhole blackhole) throws IOException {
+        blackhole.consume(JsonConverter.streamResults(new ByteArrayInputStream(payload), blackhole::consume));
+    }
+
+}
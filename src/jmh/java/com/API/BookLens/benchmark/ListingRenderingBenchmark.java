@@ -0,0 +1,94 @@
+package com.API.BookLens.benchmark;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.API.BookLens.dto.BookResponseDTO;
+import com.API.BookLens.model.Author;
+import com.API.BookLens.model.Book;
+import com.API.BookLens.service.BookMapper;
+import com.API.BookLens.service.CatalogRenderer;
+
+/**
+ * Writes a listing of 10,000 books to a console-like stream: the way listings
+ * used to print, one toString and flushed println per book, against the
+ * catalog renderer in each of its formats. The stream is built like
+ * System.out, a 128-byte buffer flushed on every line, over a sink that
+ * discards the bytes. Run with -prof gc to compare the allocation per
+ * listing as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ListingRenderingBenchmark {
+
+    private static final int BOOKS = 10_000;
+
+    private final List<Book> books = new ArrayList<>(BOOKS);
+    private final List<BookResponseDTO> responses = new ArrayList<>(BOOKS);
+    private PrintStream console;
+
+    @Setup
+    public void setUp() {
+        Author dickens = new Author("Dickens, Charles", 1812, 1870);
+        Author browne = new Author("Browne, Hablot K.", 1815, 1882);
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = new Book("A Tale of Two Cities, volume " + i, List.of(dickens, browne), List.of("en", "fr"),
+                    20_000 + i);
+            book.setId((long) i + 1);
+            books.add(book);
+            responses.add(BookMapper.toResponse(book));
+        }
+        console = new PrintStream(new BufferedOutputStream(OutputStream.nullOutputStream(), 128), true);
+    }
+
+    @Benchmark
+    public void printlnEach() {
+        for (Book book : books) {
+            console.println(book);
+        }
+    }
+
+    @Benchmark
+    public void renderText() throws IOException {
+        render(CatalogRenderer.Format.TEXT);
+    }
+
+    @Benchmark
+    public void renderCsv() throws IOException {
+        render(CatalogRenderer.Format.CSV);
+    }
+
+    @Benchmark
+    public void renderJsonLines() throws IOException {
+        render(CatalogRenderer.Format.JSONL);
+    }
+
+    private void render(CatalogRenderer.Format format) throws IOException {
+        CatalogRenderer renderer = new CatalogRenderer(console, format);
+        for (BookResponseDTO book : responses) {
+            renderer.book(book);
+        }
+        renderer.flush();
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.API.BookLens.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import com.API.BookLens.BookLensApplication;
+import com.API.BookLens.model.Author;
+import com.API.BookLens.model.Book;
+import com.API.BookLens.repository.AuthorRepository;
+import com.API.BookLens.repository.BookRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs a mixed load of 16 threads against the repositories with connection
+ * pools of different sizes: three in four operations look a title up and
+ * read the first page of books, the fourth saves a book. The time threads
+ * waited for a connection is printed after each trial from the pool's
+ * hikaricp.connections.acquire timer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 4, time = 2)
+public class PoolSizeBenchmark {
+
+    private static final int SEEDED_BOOKS = 10_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({ "2", "4", "8", "16" })
+    int poolSize;
+
+    @Param({ "h2-memory" })
+    String backend;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private StorageBackend storage;
+    private BookRepository bookRepository;
+    private Author author;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BookLensApplication.class)
+                .properties("booklens.console.enabled=false", "booklens.refresh.enabled=false",
+                        "spring.main.web-application-type=none",
+                        "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                        "spring.datasource.hikari.minimum-idle=" + poolSize,
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN");
+        storage = StorageBackend.configure(builder, backend, "pool");
+        context = builder.run();
+        bookRepository = context.getBean(BookRepository.class);
+        author = context.getBean(AuthorRepository.class).save(new Author("Pool, Author", 1800, 1870));
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < SEEDED_BOOKS; i++) {
+            books.add(new Book("Seeded " + i, author, "en", i));
+        }
+        bookRepository.saveAll(books);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Timer acquire = context.getBean(MeterRegistry.class).find("hikaricp.connections.acquire").timer();
+        if (acquire != null) {
+            System.out.printf("pool of %d: %d connections acquired, waited %.3f ms on average, %.3f ms at most%n",
+                    poolSize, acquire.count(), acquire.mean(TimeUnit.MILLISECONDS),
+                    acquire.max(TimeUnit.MILLISECONDS));
+        }
+        context.close();
+        storage.close();
+    }
+
+    @Benchmark
+    public Object mixed() {
+        long operation = sequence.incrementAndGet();
+        if (operation % 4 == 0) {
+            return bookRepository.save(new Book("Saved " + operation, author, "en", 1));
+        }
+        Book book = bookRepository.findFirstByTitle("Seeded " + operation % SEEDED_BOOKS);
+        return book != null ? bookRepository.findPage(book.getId(), Limit.of(PAGE_SIZE)) : null;
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.API.BookLens.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.API.BookLens.model.Author;
+import com.API.BookLens.model.Book;
+
+/**
+ * Renders the console representation of books and authors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RenderingBenchmark {
+
+    @Param({ "1", "20" })
+    int booksPerAuthor;
+
+    private Author author;
+    private Book book;
+
+    @Setup
+    public void setUp() {
+        author = new Author("Dickens, Charles", 1812, 1870);
+        for (int i = 0; i < booksPerAuthor; i++) {
+            author.getBooks().add(new Book("A Tale of Two Cities, volume " + i, author, "en", 20_000 + i));
+        }
+        book = author.getBooks().get(0);
+    }
+
+    @Benchmark
+    public String bookToString() {
+        return book.toString();
+    }
+
+    @Benchmark
+    public String authorToString() {
+        return author.toString();
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.API.BookLens.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import com.API.BookLens.BookLensApplication;
+import com.API.BookLens.model.Author;
+import com.API.BookLens.model.Book;
+import com.API.BookLens.repository.AuthorRepository;
+import com.API.BookLens.repository.BookRepository;
+
+/**
+ * Saves, looks up and lists books through the repositories, running the same
+ * workload on each {@link StorageBackend}. MySQL is left out by default since
+ * it needs a server; select it with -p backend=mysql.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RepositoryBenchmark {
+
+    private static final int SEEDED_BOOKS = 10_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({ "h2-memory", "h2-file" })
+    String backend;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private BookRepository bookRepository;
+    private AuthorRepository authorRepository;
+    private Author author;
+    private StorageBackend storage;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BookLensApplication.class)
+                .properties("booklens.console.enabled=false", "spring.main.web-application-type=none",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN");
+        storage = StorageBackend.configure(builder, backend, "benchmark");
+        context = builder.run();
+        bookRepository = context.getBean(BookRepository.class);
+        authorRepository = context.getBean(AuthorRepository.class);
+        author = authorRepository.save(new Author("Benchmark, Author", 1800, 1870));
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < SEEDED_BOOKS; i++) {
+            books.add(new Book("Seeded " + i, author, "en", i));
+        }
+        bookRepository.saveAll(books);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        storage.close();
+    }
+
+    @Benchmark
+    public Book findByTitleHit() {
+        return bookRepository.findFirstByTitle("Seeded " + (sequence.incrementAndGet() % SEEDED_BOOKS));
+    }
+
+    @Benchmark
+    public Book findByTitleMiss() {
+        return bookRepository.findFirstByTitle("Missing " + sequence.incrementAndGet());
+    }
+
+    @Benchmark
+    public Author findAuthorByName() {
+        return authorRepository.findFirstByName("Benchmark, Author");
+    }
+
+    @Benchmark
+    public List<Book> firstPage() {
+        return bookRepository.findPage(0L, Limit.of(PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<Book> mostDownloaded() {
+        return bookRepository.findMostDownloaded(Limit.of(PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Book save() {
+        return bookRepository.save(new Book("Saved " + sequence.incrementAndGet(), author, "en", 1));
+    }
+
+}
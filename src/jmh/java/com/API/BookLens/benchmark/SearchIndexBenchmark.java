@@ -0,0 +1,65 @@
+package com.API.BookLens.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.API.BookLens.dto.BookResponseDTO;
+import com.API.BookLens.service.SearchIndex;
+
+/**
+ * Searches an index holding a catalog the size of Gutendex, 75,000 books by
+ * 20,000 authors whose titles share a small vocabulary, for a few common,
+ * rare and partially typed queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SearchIndexBenchmark {
+
+    private static final String[] WORDS = { "history", "of", "the", "adventures", "tale", "war", "love", "letters",
+            "journey", "poems", "complete", "works", "volume", "island", "king" };
+
+    @Param({ "tale of", "king island war", "adventures journ", "author 1234", "love 75" })
+    String query;
+
+    private SearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new SearchIndex(null);
+        List<BookResponseDTO> books = new ArrayList<>();
+        for (int i = 1; i <= 75_000; i++) {
+            String title = WORDS[i % 15] + " " + WORDS[(i / 15) % 15] + " " + WORDS[(i / 225) % 15] + " " + i;
+            books.add(new BookResponseDTO((long) i, title, List.of("Author " + (i % 20_000) + ", Some"),
+                    List.of("en"), (long) i));
+        }
+        index.add(books);
+    }
+
+    @Benchmark
+    public List<BookResponseDTO> search() {
+        return index.search(query, 10, false);
+    }
+
+    @Benchmark
+    public List<BookResponseDTO> searchFuzzy() {
+        return index.search(query, 10, true);
+    }
+
+}
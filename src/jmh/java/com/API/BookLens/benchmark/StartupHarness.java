@@ -0,0 +1,245 @@
+package com.API.BookLens.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Starts the packaged application several times in each startup
+ * configuration and reports the time from launching the JVM to the first
+ * console menu, and the resident memory at that moment.
+ *
+ * The jar is extracted next to it and started from a plain class path, which
+ * AppCDS needs. The configurations are the defaults, the prod profile, the
+ * prod profile on the ahead-of-time generated context when the jar was built
+ * with -Paot, and the latter again with a class data sharing archive recorded
+ * by a training run. The database is the one the application is configured
+ * with, so the times include connecting to it.
+ *
+ * Usage: StartupHarness app.jar [runs] [--classpath=extra.jar] [application arguments]
+ */
+public class StartupHarness {
+
+    private static final String MENU_MARKER = "Choose your number option";
+    private static final long TIMEOUT_SECONDS = 180;
+    private static final int OUTPUT_LINES_KEPT = 30;
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(args[0]).toAbsolutePath();
+        int runs = 5;
+        String extraClassPath = null;
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : Arrays.asList(args).subList(1, args.length)) {
+            if (arg.matches("\\d+")) {
+                runs = Integer.parseInt(arg);
+            } else if (arg.startsWith("--classpath=")) {
+                extraClassPath = arg.substring("--classpath=".length());
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+
+        Path directory = jar.resolveSibling("startup");
+        String mainClass = extract(jar, directory);
+        String classPath = classPath(directory, extraClassPath);
+        boolean aot = Files.exists(directory.resolve("BOOT-INF/classes/com/API/BookLens/"
+                + "BookLensApplication__ApplicationContextInitializer.class"));
+
+        List<String> prod = new ArrayList<>(applicationArgs);
+        prod.add("--spring.profiles.active=prod");
+        List<Configuration> configurations = new ArrayList<>();
+        configurations.add(new Configuration("default", List.of(), applicationArgs));
+        configurations.add(new Configuration("prod", List.of(), prod));
+        List<String> prodJvm = new ArrayList<>();
+        if (aot) {
+            prodJvm.add("-Dspring.aot.enabled=true");
+            configurations.add(new Configuration("prod+aot", prodJvm, prod));
+        } else {
+            System.out.println("The jar has no ahead-of-time context, build it with -Paot to measure prod+aot.");
+        }
+        Path archive = directory.resolve("application.jsa");
+        List<String> training = new ArrayList<>(prodJvm);
+        training.add("-XX:ArchiveClassesAtExit=" + archive);
+        training.add("-Dspring.context.exit=onRefresh");
+        Files.deleteIfExists(archive);
+        run(classPath, mainClass, training, prod, false);
+        if (Files.exists(archive)) {
+            List<String> shared = new ArrayList<>(prodJvm);
+            shared.add("-XX:SharedArchiveFile=" + archive);
+            configurations.add(new Configuration(aot ? "prod+aot+cds" : "prod+cds", shared, prod));
+        } else {
+            System.out.println("The training run recorded no class data sharing archive.");
+        }
+
+        System.out.printf("%-14s %16s %16s %12s%n", "configuration", "menu median ms", "menu min ms", "RSS MB");
+        for (Configuration configuration : configurations) {
+            long[] millis = new long[runs];
+            long rss = 0;
+            for (int i = 0; i < runs; i++) {
+                Sample sample = run(classPath, mainClass, configuration.jvmArgs(), configuration.args(), true);
+                millis[i] = sample.millis();
+                rss = Math.max(rss, sample.rssKilobytes());
+            }
+            Arrays.sort(millis);
+            System.out.printf("%-14s %16d %16d %12s%n", configuration.name(), millis[runs / 2], millis[0],
+                    rss > 0 ? String.valueOf(rss / 1024) : "n/a");
+        }
+    }
+
+    /**
+     * Extracts the jar and packs its classes directory into a jar of its own,
+     * since class data sharing only archives classes loaded from jars.
+     *
+     * @return the main class named in the manifest
+     */
+    private static String extract(Path jar, Path directory) throws IOException {
+        if (Files.exists(directory)) {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : paths.sorted((a, b) -> b.compareTo(a)).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+        try (JarFile file = new JarFile(jar.toFile())) {
+            Enumeration<JarEntry> entries = file.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                Path target = directory.resolve(entry.getName()).normalize();
+                if (!target.startsWith(directory)) {
+                    throw new IOException("Entry outside the jar: " + entry.getName());
+                }
+                if (entry.isDirectory()) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.createDirectories(target.getParent());
+                    try (InputStream in = file.getInputStream(entry)) {
+                        Files.copy(in, target);
+                    }
+                }
+            }
+            Path classes = directory.resolve("BOOT-INF/classes");
+            try (JarOutputStream out = new JarOutputStream(
+                    Files.newOutputStream(directory.resolve("BOOT-INF/application.jar")));
+                    Stream<Path> paths = Files.walk(classes)) {
+                for (Path path : paths.filter(path -> !path.equals(classes)).sorted().toList()) {
+                    // directories get entries too, component scanning lists them
+                    String name = classes.relativize(path).toString().replace('\\', '/');
+                    out.putNextEntry(new JarEntry(Files.isDirectory(path) ? name + "/" : name));
+                    if (Files.isRegularFile(path)) {
+                        Files.copy(path, out);
+                    }
+                    out.closeEntry();
+                }
+            }
+            return file.getManifest().getMainAttributes().getValue("Start-Class");
+        }
+    }
+
+    private static String classPath(Path directory, String extraClassPath) throws IOException {
+        List<String> entries = new ArrayList<>();
+        entries.add(directory.resolve("BOOT-INF/application.jar").toString());
+        Path index = directory.resolve("BOOT-INF/classpath.idx");
+        for (String line : Files.readAllLines(index)) {
+            String library = line.replaceFirst("^- \"", "").replaceFirst("\"$", "");
+            entries.add(directory.resolve(library).toString());
+        }
+        if (extraClassPath != null) {
+            entries.add(extraClassPath);
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    /**
+     * Runs the application once. When waiting for the menu, the process is
+     * stopped as soon as it prints it; otherwise it runs until it exits.
+     */
+    private static Sample run(String classPath, String mainClass, List<String> jvmArgs, List<String> args,
+            boolean untilMenu) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(classPath);
+        command.add(mainClass);
+        command.addAll(args);
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        Thread watchdog = new Thread(() -> {
+            try {
+                if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+            }
+        }, "startup-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+        Deque<String> output = new ArrayDeque<>();
+        try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (untilMenu && line.contains(MENU_MARKER)) {
+                    long millis = (System.nanoTime() - start) / 1_000_000;
+                    long rss = residentKilobytes(process.pid());
+                    process.destroy();
+                    process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                    return new Sample(millis, rss);
+                }
+                output.addLast(line);
+                if (output.size() > OUTPUT_LINES_KEPT) {
+                    output.removeFirst();
+                }
+            }
+        } finally {
+            process.destroyForcibly();
+        }
+        if (untilMenu) {
+            throw new IllegalStateException("The application exited before showing the menu:\n"
+                    + String.join("\n", output));
+        }
+        return new Sample((System.nanoTime() - start) / 1_000_000, 0);
+    }
+
+    /**
+     * Reads the resident set size of a process, on Linux only.
+     *
+     * @return the size in kilobytes, or 0 when unknown
+     */
+    private static long residentKilobytes(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // not Linux, or the process is gone
+        }
+        return 0;
+    }
+
+    private record Configuration(String name, List<String> jvmArgs, List<String> args) {
+    }
+
+    private record Sample(long millis, long rssKilobytes) {
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.API.BookLens.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Points a benchmark context at one of the storage backends: H2 in memory, H2
+ * in a local file through the h2 profile, or MySQL through the DB_HOST,
+ * DB_USER and DB_PASSWORD variables the application uses. MySQL benchmarks
+ * run in a database of their own, book_lens_benchmark, recreated with the
+ * schema for each trial.
+ */
+final class StorageBackend {
+
+    private final Path directory;
+
+    private StorageBackend(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Configures the builder for the named backend.
+     *
+     * @param builder the builder of the benchmark context
+     * @param backend h2-memory, h2-file or mysql
+     * @param name    the name of the in-memory database
+     * @return the backend, to be closed with the context
+     * @throws IOException if the directory of the database file cannot be
+     *                     created
+     */
+    static StorageBackend configure(SpringApplicationBuilder builder, String backend, String name)
+            throws IOException {
+        switch (backend) {
+            case "h2-memory" -> builder.properties("spring.datasource.url=jdbc:h2:mem:" + name
+                    + ";DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+            case "h2-file" -> {
+                Path directory = Files.createTempDirectory(name);
+                builder.profiles("h2").properties("booklens.h2.path=" + directory.resolve("catalog"));
+                return new StorageBackend(directory);
+            }
+            case "mysql" -> builder.properties(
+                    "spring.datasource.url=jdbc:mysql://${DB_HOST}/book_lens_benchmark"
+                            + "?createDatabaseIfNotExist=true&useCursorFetch=true&rewriteBatchedStatements=true"
+                            + "&cachePrepStmts=true&prepStmtCacheSize=250&prepStmtCacheSqlLimit=2048",
+                    "spring.datasource.username=${DB_USER}", "spring.datasource.password=${DB_PASSWORD}",
+                    "spring.jpa.database=mysql",
+                    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect");
+            default -> throw new IllegalArgumentException("Unknown backend " + backend);
+        }
+        return new StorageBackend(null);
+    }
+
+    /**
+     * Deletes the database file, if the backend has one.
+     */
+    void close() {
+        if (directory != null) {
+            FileSystemUtils.deleteRecursively(directory.toFile());
+        }
+    }
+
+}
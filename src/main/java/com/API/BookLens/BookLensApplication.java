@@ -1,41 +1,94 @@
 package com.API.BookLens;
 
+import java.nio.file.Path;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 
 import com.API.BookLens.main.Main;
+import com.API.BookLens.main.SnapshotConsole;
 import com.API.BookLens.repository.AuthorRepository;
 import com.API.BookLens.repository.BookRepository;
+import com.API.BookLens.service.BookBatchWriter;
+import com.API.BookLens.service.BookSearchService;
+import com.API.BookLens.service.CatalogAnalytics;
+import com.API.BookLens.service.CatalogFileImporter;
+import com.API.BookLens.service.CatalogIngestor;
+import com.API.BookLens.service.CatalogLookupCache;
+import com.API.BookLens.service.CatalogStreamer;
 
 @SpringBootApplication
 public class BookLensApplication implements CommandLineRunner {
+	private static final String SNAPSHOT_ARGUMENT = "--snapshot=";
+
 	@Autowired
 	private AuthorRepository authorRepository;
 	@Autowired
 	private BookRepository bookRepository;
+	@Autowired
+	private CatalogIngestor catalogIngestor;
+	@Autowired
+	private BookBatchWriter bookBatchWriter;
+	@Autowired
+	private CatalogLookupCache lookupCache;
+	@Autowired
+	private BookSearchService bookSearchService;
+	@Autowired
+	private CatalogAnalytics catalogAnalytics;
+	@Autowired
+	private CatalogFileImporter catalogFileImporter;
+	@Autowired
+	private CatalogStreamer catalogStreamer;
+	@Autowired
+	private ConfigurableApplicationContext context;
+	@Value("${booklens.console.enabled:true}")
+	private boolean consoleEnabled;
 
 	/**
-	 * The main method to start the BookLens application.
+	 * The main method to start the BookLens application. With
+	 * --snapshot=&lt;file&gt; it starts the read-only console on a saved catalog
+	 * snapshot instead, without Spring or a database connection.
 	 * 
 	 * @param args Command-line arguments passed to the application
+	 * @throws Exception If the snapshot file cannot be read
 	 */
-	public static void main(String[] args) {
+	public static void main(String[] args) throws Exception {
+		for (String arg : args) {
+			if (arg.startsWith(SNAPSHOT_ARGUMENT)) {
+				SnapshotConsole.run(Path.of(arg.substring(SNAPSHOT_ARGUMENT.length())));
+				return;
+			}
+		}
 		SpringApplication.run(BookLensApplication.class, args);
 	}
 
 	/**
 	 * Executes the main logic of the application upon startup.
-	 * It creates an instance of the Main class and invokes its menu method.
+	 * It creates an instance of the Main class and invokes its menu method on
+	 * a console thread, so startup completes and the HTTP API keeps serving
+	 * while the menu waits for input. Closing the menu shuts the application
+	 * down. Nothing is started if the console is disabled with
+	 * booklens.console.enabled=false.
 	 * 
 	 * @param args Command-line arguments passed to the application
 	 * @throws Exception If an error occurs during execution
 	 */
 	@Override
 	public void run(String... args) throws Exception {
-		Main main = new Main(authorRepository, bookRepository);
-		main.menu();
+		if (!consoleEnabled) {
+			return;
+		}
+		Main main = new Main(authorRepository, bookRepository, catalogIngestor, bookBatchWriter,
+				lookupCache, bookSearchService, catalogAnalytics, catalogFileImporter, catalogStreamer);
+		Thread console = new Thread(() -> {
+			main.menu();
+			System.exit(SpringApplication.exit(context));
+		}, "console");
+		console.start();
 	}
 	
 }
\ No newline at end of file
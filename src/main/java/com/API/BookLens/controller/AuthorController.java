@@ -0,0 +1,60 @@
+package com.API.BookLens.controller;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.API.BookLens.dto.AuthorResponseDTO;
+import com.API.BookLens.dto.PageResponseDTO;
+import com.API.BookLens.model.Author;
+import com.API.BookLens.repository.AuthorRepository;
+import com.API.BookLens.service.BookMapper;
+
+/**
+ * Exposes the author operations of the console over HTTP.
+ */
+@RestController
+@RequestMapping("/api/authors")
+public class AuthorController {
+
+    private final AuthorRepository authorRepository;
+
+    public AuthorController(AuthorRepository authorRepository) {
+        this.authorRepository = authorRepository;
+    }
+
+    /**
+     * Lists the stored authors with their books in id order.
+     *
+     * @param after the {@code next} key of the previous page, or 0 to start
+     * @param size  the page size, at most 100
+     * @return one page of authors
+     */
+    @GetMapping
+    public PageResponseDTO<AuthorResponseDTO> list(@RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + Pages.DEFAULT_SIZE) int size) {
+        Limit limit = Pages.limit(size);
+        return Pages.of(authorRepository.findPageWithBooks(after, limit), limit, Author::getId,
+                BookMapper::toResponse);
+    }
+
+    /**
+     * Lists the authors alive during a year with their books in id order.
+     *
+     * @param year  the year to check
+     * @param after the {@code next} key of the previous page, or 0 to start
+     * @param size  the page size, at most 100
+     * @return one page of authors
+     */
+    @GetMapping("/alive")
+    public PageResponseDTO<AuthorResponseDTO> aliveInYear(@RequestParam int year,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + Pages.DEFAULT_SIZE) int size) {
+        Limit limit = Pages.limit(size);
+        return Pages.of(authorRepository.findAliveInYearPage(year, after, limit), limit, Author::getId,
+                BookMapper::toResponse);
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.API.BookLens.controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.API.BookLens.dto.BookResponseDTO;
+import com.API.BookLens.dto.PageResponseDTO;
+import com.API.BookLens.model.Book;
+import com.API.BookLens.repository.BookRepository;
+import com.API.BookLens.service.BookMapper;
+import com.API.BookLens.service.BookSearchService;
+import com.API.BookLens.service.CatalogStreamer;
+import com.API.BookLens.service.SearchIndex;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Exposes the book operations of the console over HTTP.
+ */
+@RestController
+@RequestMapping("/api/books")
+public class BookController {
+
+    private static final int MAX_TOP = 100;
+
+    private final BookRepository bookRepository;
+    private final BookSearchService bookSearchService;
+    private final CatalogStreamer catalogStreamer;
+    private final SearchIndex searchIndex;
+    private final ObjectMapper objectMapper;
+
+    public BookController(BookRepository bookRepository, BookSearchService bookSearchService,
+            CatalogStreamer catalogStreamer, SearchIndex searchIndex, ObjectMapper objectMapper) {
+        this.bookRepository = bookRepository;
+        this.bookSearchService = bookSearchService;
+        this.catalogStreamer = catalogStreamer;
+        this.searchIndex = searchIndex;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Lists the stored books in id order.
+     *
+     * @param after the {@code next} key of the previous page, or 0 to start
+     * @param size  the page size, at most 100
+     * @return one page of books
+     */
+    @GetMapping
+    public PageResponseDTO<BookResponseDTO> list(@RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + Pages.DEFAULT_SIZE) int size) {
+        Limit limit = Pages.limit(size);
+        return Pages.of(bookRepository.findPage(after, limit), limit, Book::getId,
+                BookMapper::toResponse);
+    }
+
+    /**
+     * Lists the stored books in a language in id order.
+     *
+     * @param language the language code, such as en
+     * @param after    the {@code next} key of the previous page, or 0 to start
+     * @param size     the page size, at most 100
+     * @return one page of books
+     */
+    @GetMapping("/language/{language}")
+    public PageResponseDTO<BookResponseDTO> byLanguage(@PathVariable String language,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + Pages.DEFAULT_SIZE) int size) {
+        Limit limit = Pages.limit(size);
+        return Pages.of(bookRepository.findLanguagePage(language, after, limit), limit,
+                Book::getId, BookMapper::toResponse);
+    }
+
+    /**
+     * Lists the most downloaded books.
+     *
+     * @param limit the number of books, at most 100
+     * @return the books with the most downloads first
+     */
+    @GetMapping("/top")
+    public List<BookResponseDTO> top(@RequestParam(defaultValue = "10") int limit) {
+        return bookRepository.findMostDownloaded(Limit.of(Math.max(1, Math.min(MAX_TOP, limit))))
+                .stream().map(BookMapper::toResponse).toList();
+    }
+
+    /**
+     * Streams every stored book as one JSON array, writing each book as it is
+     * read from the database cursor instead of building the whole list.
+     *
+     * @return the body writing the array
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public StreamingResponseBody export() {
+        return out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartArray();
+                catalogStreamer.forEachBook(book -> {
+                    try {
+                        json.writeObject(BookMapper.toResponse(book));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.writeEndArray();
+            }
+        };
+    }
+
+    /**
+     * Searches the stored titles and author names, without going to the API.
+     *
+     * @param q     the words to search for; the last one may be partial
+     * @param limit the number of books, at most 100
+     * @param fuzzy whether misspelt words may match
+     * @return the matching books, most downloaded first
+     */
+    @GetMapping("/search")
+    public List<BookResponseDTO> searchLocal(@RequestParam String q, @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "true") boolean fuzzy) {
+        return searchIndex.search(q, Math.max(1, Math.min(MAX_TOP, limit)), fuzzy);
+    }
+
+    /**
+     * Searches for a title and saves the first API result, as option 1 of the
+     * console does.
+     *
+     * @param title the title to search for
+     * @return 200 with the best local match when stored books match, 201 with
+     *         the saved book, 200 with the book found if a book with its title
+     *         is already stored, or 404 if nothing was found
+     */
+    @PostMapping("/search")
+    public ResponseEntity<BookResponseDTO> search(@RequestParam String title) {
+        if (title.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Book name cannot be empty.");
+        }
+        BookSearchService.SearchResult result;
+        try {
+            result = bookSearchService.searchAndSave(title);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Search interrupted.", e);
+        }
+        return switch (result.status()) {
+            case FOUND_LOCALLY -> ResponseEntity.ok(result.matches().get(0));
+            case SAVED -> ResponseEntity.status(HttpStatus.CREATED).body(BookMapper.toResponse(result.book()));
+            case ALREADY_PRESENT -> ResponseEntity.ok(BookMapper.toResponse(result.book()));
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+        };
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.API.BookLens.controller;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Limit;
+
+import com.API.BookLens.dto.PageResponseDTO;
+
+/**
+ * Helpers shared by the keyset-paginated listings of the HTTP API.
+ */
+final class Pages {
+
+    static final int DEFAULT_SIZE = 20;
+    static final int MAX_SIZE = 100;
+
+    private Pages() {
+    }
+
+    /**
+     * Clamps a requested page size to between 1 and {@link #MAX_SIZE}.
+     */
+    static Limit limit(int size) {
+        return Limit.of(Math.max(1, Math.min(MAX_SIZE, size)));
+    }
+
+    /**
+     * Builds the response of a page, pointing to the next one only when the
+     * page is full.
+     *
+     * @param page     the entities of the page, ordered by id
+     * @param limit    the page size the entities were fetched with
+     * @param idOf     extracts the id of an entity
+     * @param response maps an entity to its response
+     */
+    static <T, R> PageResponseDTO<R> of(List<T> page, Limit limit, Function<T, Long> idOf, Function<T, R> response) {
+        Long next = page.size() < limit.max() ? null : idOf.apply(page.get(page.size() - 1));
+        return new PageResponseDTO<>(page.stream().map(response).toList(), next);
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.API.BookLens.dto;
+
+
+/**
+ * Represents the identity of a stored Author.
+ *
+ * This record holds only the database id and the unique name of an author, and is used to look authors up
+ * without loading the entity.
+ */
+public record AuthorKeyDTO(Long id, String name) {}
@@ -0,0 +1,10 @@
+package com.API.BookLens.dto;
+
+import java.util.List;
+
+/**
+ * Represents an author as returned by the HTTP API.
+ *
+ * This record encapsulates a stored author: their id, name, birth and death years, and the titles of their books.
+ */
+public record AuthorResponseDTO(Long id, String name, int birthYear, int deathYear, List<String> books) {}
@@ -0,0 +1,9 @@
+package com.API.BookLens.dto;
+
+
+/**
+ * Represents a stored author as one row of the catalog snapshot.
+ *
+ * This record encapsulates the columns of an author without their books: the id, name, and birth and death years.
+ */
+public record AuthorRowDTO(Long id, String name, int dateOfBirthYear, int dateOfDeathYear) {}
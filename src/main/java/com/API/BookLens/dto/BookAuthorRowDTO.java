@@ -0,0 +1,9 @@
+package com.API.BookLens.dto;
+
+
+/**
+ * Represents one author credit of a book for a full catalog scan.
+ *
+ * This record encapsulates the book id, the author id and the author name.
+ */
+public record BookAuthorRowDTO(Long bookId, Long authorId, String authorName) {}
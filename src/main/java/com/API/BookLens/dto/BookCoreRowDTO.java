@@ -0,0 +1,9 @@
+package com.API.BookLens.dto;
+
+
+/**
+ * Represents the columns of the books table for a full catalog scan.
+ *
+ * This record encapsulates a book without its authors and languages: the id, title and number of downloads.
+ */
+public record BookCoreRowDTO(Long id, String title, Long numberOfDownloads) {}
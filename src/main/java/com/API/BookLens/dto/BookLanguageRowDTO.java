@@ -0,0 +1,9 @@
+package com.API.BookLens.dto;
+
+
+/**
+ * Represents one language of a book for a full catalog scan.
+ *
+ * This record encapsulates the book id and the language code.
+ */
+public record BookLanguageRowDTO(Long bookId, String language) {}
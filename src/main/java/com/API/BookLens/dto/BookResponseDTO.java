@@ -0,0 +1,11 @@
+package com.API.BookLens.dto;
+
+import java.util.List;
+
+/**
+ * Represents a book as returned by the HTTP API.
+ *
+ * This record encapsulates a stored book: its id, title, author names, languages and number of downloads.
+ */
+public record BookResponseDTO(Long id, String title, List<String> authors, List<String> languages,
+        Long numberOfDownloads) {}
@@ -0,0 +1,12 @@
+package com.API.BookLens.dto;
+
+import java.util.List;
+
+/**
+ * Represents a stored book as one row of a full catalog scan.
+ *
+ * This record encapsulates the columns of a book together with its authors and languages in credit order: the id,
+ * title, author ids, author names, languages and number of downloads.
+ */
+public record BookRowDTO(Long id, String title, List<Long> authorIds, List<String> authors, List<String> languages,
+        Long numberOfDownloads) {}
@@ -0,0 +1,8 @@
+package com.API.BookLens.dto;
+
+/**
+ * The stored download count of a book together with the ids needed to compare
+ * it with Gutendex.
+ */
+public record DownloadCountDTO(Long id, Long gutendexId, Long numberOfDownloads) {
+}
@@ -0,0 +1,10 @@
+package com.API.BookLens.dto;
+
+
+/**
+ * Represents the paging information of a Gutendex listing.
+ *
+ * This record encapsulates the fields of a listing page other than its results: the total count of books
+ * and the URLs of the next and previous pages. It is produced when the results are streamed one at a time.
+ */
+public record PageInfoDTO(int count, String next, String previous) {}
@@ -0,0 +1,11 @@
+package com.API.BookLens.dto;
+
+import java.util.List;
+
+/**
+ * Represents one page of a listing returned by the HTTP API.
+ *
+ * This record encapsulates the items of the page and the key to pass as {@code after} to get the next page,
+ * which is null on the last page.
+ */
+public record PageResponseDTO<T>(List<T> items, Long next) {}
@@ -1,11 +1,18 @@
 package com.API.BookLens.main;
 
 import java.io.IOException;
-import java.util.Comparator;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.InputMismatchException;
 import java.util.List;
 import java.util.Scanner;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+import org.springframework.data.domain.Limit;
 
 import com.API.BookLens.dto.*;
 import com.API.BookLens.model.*;
@@ -19,9 +26,19 @@ import com.API.BookLens.service.*;
 public class Main {
     private final AuthorRepository authorRepository;
     private final BookRepository bookRepository;
+    private final CatalogIngestor catalogIngestor;
+    private final BookBatchWriter bookBatchWriter;
+    private final CatalogLookupCache lookupCache;
+    private final BookSearchService bookSearchService;
+    private final CatalogAnalytics catalogAnalytics;
+    private final CatalogFileImporter catalogFileImporter;
+    private final CatalogStreamer catalogStreamer;
 
     private Scanner scan = new Scanner(System.in);
 
+    private static final int MOST_POPULAR_LIMIT = 10;
+    private static final int PAGE_SIZE = 20;
+
     private static final String MENU = """
             -----------------------------------------
                 Choose your number option:
@@ -31,7 +48,11 @@ public class Main {
                 4- List alive authors of certain year
                 5- List books with a certain language
                 6- List most popular books
-                7- Close application
+                7- Bulk ingest catalog
+                8- Import catalog file
+                9- Export catalog snapshot
+                10- Export catalog as text, CSV or JSON Lines
+                11- Close application
             -----------------------------------------
             """;
 
@@ -50,14 +71,32 @@ public class Main {
      *
      * @param authorRepository the repository for author data
      * @param bookRepository   the repository for book data
+     * @param catalogIngestor  the ingestor used for bulk catalog imports
+     * @param bookBatchWriter  the writer that persists bulk imports in batches
+     * @param lookupCache      the cache of stored titles and authors
+     * @param bookSearchService the service that searches and saves titles
+     * @param catalogAnalytics the snapshot the aggregate listings are read from
+     * @param catalogFileImporter the importer of local catalog files
+     * @param catalogStreamer  the scan catalog exports are read from
      */
-    public Main(AuthorRepository authorRepository, BookRepository bookRepository) {
+    public Main(AuthorRepository authorRepository, BookRepository bookRepository, CatalogIngestor catalogIngestor,
+            BookBatchWriter bookBatchWriter, CatalogLookupCache lookupCache, BookSearchService bookSearchService,
+            CatalogAnalytics catalogAnalytics, CatalogFileImporter catalogFileImporter,
+            CatalogStreamer catalogStreamer) {
         this.authorRepository = authorRepository;
         this.bookRepository = bookRepository;
+        this.catalogIngestor = catalogIngestor;
+        this.bookBatchWriter = bookBatchWriter;
+        this.lookupCache = lookupCache;
+        this.bookSearchService = bookSearchService;
+        this.catalogAnalytics = catalogAnalytics;
+        this.catalogFileImporter = catalogFileImporter;
+        this.catalogStreamer = catalogStreamer;
     }
 
     /**
      * Displays the main menu and handles user input to perform various actions.
+     * Each action is timed, tagged with the option chosen.
      */
     public void menu() {
         while (true) {
@@ -67,13 +106,17 @@ public class Main {
                 continue;
 
             switch (option) {
-                case 1 -> searchBookByTitle();
-                case 2 -> listRegisteredBooks();
-                case 3 -> listRegisteredAuthors();
-                case 4 -> listAliveAuthorsOfCertainYear();
-                case 5 -> listBooksWithACertainLanguage();
-                case 6 -> listMostPopularBooks();
-                case 7 -> {
+                case 1 -> BookLensMetrics.menuOperation("search", this::searchBookByTitle);
+                case 2 -> BookLensMetrics.menuOperation("books", this::listRegisteredBooks);
+                case 3 -> BookLensMetrics.menuOperation("authors", this::listRegisteredAuthors);
+                case 4 -> BookLensMetrics.menuOperation("alive-authors", this::listAliveAuthorsOfCertainYear);
+                case 5 -> BookLensMetrics.menuOperation("language", this::listBooksWithACertainLanguage);
+                case 6 -> BookLensMetrics.menuOperation("most-popular", this::listMostPopularBooks);
+                case 7 -> BookLensMetrics.menuOperation("bulk-ingest", this::bulkIngestCatalog);
+                case 8 -> BookLensMetrics.menuOperation("file-import", this::importCatalogFile);
+                case 9 -> BookLensMetrics.menuOperation("snapshot-export", this::exportCatalogSnapshot);
+                case 10 -> BookLensMetrics.menuOperation("catalog-export", this::exportCatalog);
+                case 11 -> {
                     System.out.println("Closing application...");
                     return;
                 }
@@ -85,9 +128,9 @@ public class Main {
     }
 
     /**
-     * Prompts the user to enter a book title, searches for the book using an
-     * external API,
-     * and processes the results.
+     * Prompts the user to enter a book title and searches for it in the local
+     * catalog, then using an external API if nothing local matches, and
+     * processes the results.
      */
     private void searchBookByTitle() {
 
@@ -100,16 +143,24 @@ public class Main {
             System.out.println("Book name cannot be empty.");
             return;
         }
-        String bookInURL = formatBookNameForURL(bookName);
 
         try {
-            String json = fetchBookDataFromAPI(bookInURL);
-            BookDTO bookDTO = convertJsonToBookDTO(json);
-            if (processBookResults(bookDTO)) {
-                System.out.println("Book details processed and saved.");
-            } else {
-                System.out.println("No books found.");
+            BookSearchService.SearchResult result = bookSearchService.searchAndSave(bookName);
+            switch (result.status()) {
+                case FOUND_LOCALLY -> {
+                    System.out.println("Found in the local catalog:");
+                    printBooks(result.matches());
+                }
+                case SAVED -> {
+                    System.out.println(result.book());
+                    System.out.println("Book details processed and saved.");
+                }
+                case ALREADY_PRESENT -> System.out.println("Book is already present in the database.");
+                case NOT_FOUND -> System.out.println("No books found.");
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("Search interrupted.");
         } catch (Exception e) {
             handleException(e);
         }
@@ -117,34 +168,202 @@ public class Main {
     }
 
     /**
-     * Lists all registered books and prints their information on the console.
+     * Prompts the user for an optional search term and ingests every page of
+     * the matching Gutendex listing, printing the throughput when done. An
+     * empty search term ingests the whole catalog.
      */
-    private void listRegisteredBooks() {
-        List<Book> books = bookRepository.findAll();
-        if (books.isEmpty()) {
-            System.out.println("Your database is empty");
-        } else {
-            books.forEach(System.out::println);
+    private void bulkIngestCatalog() {
+
+        if (scan.hasNextLine())
+            scan.nextLine();
+
+        System.out.println("Type the search term (leave empty for the whole catalog):");
+        String searchTerm = scan.nextLine();
+
+        try {
+            long savedBefore = bookBatchWriter.getSaved();
+            CatalogIngestor.IngestReport report = catalogIngestor.ingestSearch(searchTerm, this::persistBatch);
+            bookBatchWriter.flush();
+            System.out.println("Bulk ingest finished: " + report);
+            System.out.println("New books saved: " + (bookBatchWriter.getSaved() - savedBefore));
+            System.out.println("Lookup cache: " + lookupCache.getStats());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("Bulk ingest interrupted.");
+        } catch (Exception e) {
+            handleException(e);
         }
 
     }
 
     /**
-     * Lists all registered authors and prints their information on the console.
+     * Prompts the user for the path of a local catalog file and imports it,
+     * printing the throughput when done. An interrupted import of the same
+     * file resumes where it stopped.
+     */
+    private void importCatalogFile() {
+
+        if (scan.hasNextLine())
+            scan.nextLine();
+
+        System.out.println("Type the path of the catalog file (one Gutendex result per line):");
+        String path = scan.nextLine().trim();
+        if (path.isEmpty()) {
+            System.out.println("Path cannot be empty.");
+            return;
+        }
+
+        try {
+            long savedBefore = bookBatchWriter.getSaved();
+            catalogFileImporter.importFile(Path.of(path));
+            System.out.println("New books saved: " + (bookBatchWriter.getSaved() - savedBefore));
+            System.out.println("Lookup cache: " + lookupCache.getStats());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("Catalog import interrupted.");
+        } catch (Exception e) {
+            handleException(e);
+        }
+
+    }
+
+    /**
+     * Prompts the user for a file and saves a fresh catalog snapshot to it,
+     * for starting BookLens with {@code --snapshot=<file>} without a database.
+     */
+    private void exportCatalogSnapshot() {
+
+        if (scan.hasNextLine())
+            scan.nextLine();
+
+        System.out.println("Type the path of the snapshot file:");
+        String path = scan.nextLine().trim();
+        if (path.isEmpty()) {
+            System.out.println("Path cannot be empty.");
+            return;
+        }
+
+        try {
+            catalogAnalytics.export(Path.of(path));
+        } catch (Exception e) {
+            handleException(e);
+        }
+
+    }
+
+    /**
+     * Prompts the user for a file and writes every stored book to it, in the
+     * format its extension names: .csv, .jsonl or plain text otherwise. The
+     * books are read through a cursor and rendered as they arrive, so the
+     * export runs in constant memory.
+     */
+    private void exportCatalog() {
+
+        if (scan.hasNextLine())
+            scan.nextLine();
+
+        System.out.println("Type the path of the export file (.csv, .jsonl or .txt):");
+        String path = scan.nextLine().trim();
+        if (path.isEmpty()) {
+            System.out.println("Path cannot be empty.");
+            return;
+        }
+
+        Path file = Path.of(path);
+        CatalogRenderer.Format format = CatalogRenderer.Format.forFile(file);
+        long start = System.nanoTime();
+        try (CatalogRenderer renderer = new CatalogRenderer(Files.newOutputStream(file), format)) {
+            long books = catalogStreamer.forEachBook(book -> {
+                try {
+                    renderer.book(book);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            renderer.flush();
+            System.out.printf("Exported %d books as %s to %s in %d ms%n", books, format, file,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            handleException(e);
+        }
+
+    }
+
+    /**
+     * Hands a batch of results coming from a bulk ingest to the batch writer,
+     * skipping results without title. Titles already in the database are
+     * dropped by the writer.
+     *
+     * @param results the batch of results to persist
+     */
+    private void persistBatch(List<BookResultDTO> results) {
+        List<Book> books = new ArrayList<>(results.size());
+        for (BookResultDTO result : results) {
+            if (result.title() != null) {
+                books.add(BookMapper.toBook(result));
+            }
+        }
+        BookLensMetrics.ingested("bulk", "empty", results.size() - books.size());
+        bookBatchWriter.addAll(books);
+    }
+
+    /**
+     * Lists all registered books page by page and prints their information on
+     * the console, asking before each new page.
+     */
+    private void listRegisteredBooks() {
+        printPages("Your database is empty", lastId -> bookRepository.findPage(lastId, Limit.of(PAGE_SIZE)),
+                Book::getId, page -> printBooks(page.stream().map(BookMapper::toResponse).toList()));
+    }
+
+    /**
+     * Lists all registered authors page by page and prints their information
+     * on the console, asking before each new page.
      */
     private void listRegisteredAuthors() {
-        List<Author> authors = authorRepository.findAll();
-        if (authors.isEmpty()) {
-            System.out.println("Your database is empty");
-        } else {
-            authors.forEach(System.out::println);
+        printPages("Your database is empty", lastId -> authorRepository.findPageWithBooks(lastId, Limit.of(PAGE_SIZE)),
+                Author::getId, page -> printAuthors(page.stream().map(BookMapper::toResponse).toList()));
+    }
+
+    /**
+     * Prints a keyset-paginated listing one page at a time, asking the user
+     * before fetching each new page.
+     *
+     * @param empty     what to print when there is nothing to list
+     * @param pageAfter fetches the page that follows the given id
+     * @param idOf      extracts the id used as the key of the next page
+     * @param print     prints one page
+     * @param <T>       the type of the listed entities
+     */
+    private <T> void printPages(String empty, LongFunction<List<T>> pageAfter, Function<T, Long> idOf,
+            Consumer<List<T>> print) {
+        List<T> page = pageAfter.apply(0L);
+        if (page.isEmpty()) {
+            System.out.println(empty);
+            return;
+        }
+
+        if (scan.hasNextLine())
+            scan.nextLine();
+
+        while (!page.isEmpty()) {
+            print.accept(page);
+            if (page.size() < PAGE_SIZE) {
+                return;
+            }
+            System.out.println("Press Enter for the next page or type q to stop:");
+            if (!scan.hasNextLine() || scan.nextLine().trim().equalsIgnoreCase("q")) {
+                return;
+            }
+            page = pageAfter.apply(idOf.apply(page.get(page.size() - 1)));
         }
 
     }
 
     /**
      * Lists all authors who were alive during a certain year and prints their
-     * information on the console. Prompts the user to input the year.
+     * information on the console. Prompts the user to input the year. Answered
+     * from the catalog snapshot once it is built.
      */
     private void listAliveAuthorsOfCertainYear() {
         System.out.println("Type the year:");
@@ -152,14 +371,15 @@ public class Main {
         if (year == -1)
             return;
 
-        List<Author> aliveAuthors = authorRepository.findAll().stream()
-                .filter(author -> author.getDateOfBirthYear() <= year && author.getDateOfDeathYear() >= year)
-                .collect(Collectors.toList());
+        CatalogSnapshot snapshot = catalogAnalytics.current();
+        List<AuthorResponseDTO> aliveAuthors = snapshot != null
+                ? snapshot.aliveInYear(year)
+                : authorRepository.findAliveInYear(year).stream().map(BookMapper::toResponse).toList();
 
         if (aliveAuthors.isEmpty()) {
             System.out.println("No living authors found for the year " + year);
         } else {
-            aliveAuthors.forEach(System.out::println);
+            printAuthors(aliveAuthors);
         }
 
     }
@@ -169,7 +389,8 @@ public class Main {
      * The method prompts the user to choose a language from a predefined list
      * and then filters the books to display only those in the chosen language.
      * If no books are found for the chosen language, it prints a message indicating
-     * so.
+     * so. Answered from the catalog snapshot once it is built, and page by page
+     * from the database until then.
      */
     private void listBooksWithACertainLanguage() {
         System.out.println(LANGUAGE_MENU);
@@ -190,129 +411,87 @@ public class Main {
 
         }
 
-        List<Book> booksWithCertainLanguage = bookRepository.findAll().stream()
-                .filter(book -> book.getLanguage().equalsIgnoreCase(language))
-                .collect(Collectors.toList());
+        CatalogSnapshot snapshot = catalogAnalytics.current();
+        if (snapshot == null) {
+            printPages("No books found in this language: " + language,
+                    lastId -> bookRepository.findLanguagePage(language, lastId, Limit.of(PAGE_SIZE)),
+                    Book::getId, page -> printBooks(page.stream().map(BookMapper::toResponse).toList()));
+            return;
+        }
+        List<BookResponseDTO> booksWithCertainLanguage = snapshot.byLanguage(language);
 
         if (booksWithCertainLanguage.isEmpty()) {
             System.out.println("No books found in this language: " + language);
         } else {
-            booksWithCertainLanguage.forEach(System.out::println);
+            printBooks(booksWithCertainLanguage);
         }
 
     }
 
     /**
-     * Lists the most popular books based on the number of downloads.
+     * Lists the most popular books based on the number of downloads, from the
+     * catalog snapshot once it is built.
      */
     private void listMostPopularBooks() {
-        bookRepository.findAll().stream()
-                .sorted(Comparator.comparingLong(Book::getNumberOfDownloads).reversed())
-                .forEach(System.out::println);
+        CatalogSnapshot snapshot = catalogAnalytics.current();
+        List<BookResponseDTO> mostPopular = snapshot != null
+                ? snapshot.mostDownloaded(MOST_POPULAR_LIMIT)
+                : bookRepository.findMostDownloaded(Limit.of(MOST_POPULAR_LIMIT)).stream()
+                        .map(BookMapper::toResponse).toList();
+        printBooks(mostPopular);
     }
 
     /**
-     * Gets an integer input from the user. If the input is not a valid integer,
-     * it returns -1 and prompts the user to enter a valid number.
+     * Prints books in the same layout as {@link Book#toString()}, rendered
+     * into one buffer and written to the console in a few blocks.
      *
-     * @return the integer input from the user or -1 if the input is invalid
+     * @param books the books to print
      */
-    private int getIntInput() {
+    static void printBooks(List<BookResponseDTO> books) {
+        CatalogRenderer renderer = new CatalogRenderer(System.out, CatalogRenderer.Format.TEXT);
         try {
-            return scan.nextInt();
-        } catch (InputMismatchException e) {
-            System.out.println("Only numbers are allowed!");
-            scan.next();
-            return -1;
+            for (BookResponseDTO book : books) {
+                renderer.book(book);
+            }
+            renderer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-
     }
 
     /**
-     * Formats the book name to be URL-friendly by replacing spaces with '%20'.
+     * Prints authors in the same layout as {@link Author#toString()}, rendered
+     * into one buffer and written to the console in a few blocks.
      *
-     * @param bookName the original book name
-     * @return the formatted book name suitable for use in a URL
+     * @param authors the authors to print
      */
-    private String formatBookNameForURL(String bookName) {
-        return bookName.replace(" ", "%20");
-    }
-
-    /**
-     * Fetches book data from an external API using the given URL.
-     *
-     * @param bookInURL the formatted book name in URL form
-     * @return the JSON response from the API as a string
-     * @throws IOException if an I/O error occurs during the API request
-     */
-    private String fetchBookDataFromAPI(String bookInURL) throws IOException {
-        return GetAPIData.getBookData("https://gutendex.com/books/?search=" + bookInURL);
-    }
-
-    /**
-     * Converts a JSON string to a BookDTO object.
-     *
-     * @param json the JSON string representing book data
-     * @return the BookDTO object parsed from the JSON string
-     */
-    private BookDTO convertJsonToBookDTO(String json) {
-        return JsonConverter.fromJson(json, BookDTO.class);
-    }
-
-    /**
-     * Processes the book results from the BookDTO object. If a book is found and
-     * not already in the database, it saves the book and author information.
-     *
-     * @param bookDTO the BookDTO object containing book results
-     * @return true if a book was processed and found, false otherwise
-     */
-    private boolean processBookResults(BookDTO bookDTO) {
-        for (var result : bookDTO.results()) {
-            Book book = createBookFromResult(result);
-            if (bookRepository.findByTitle(book.getTitle()) != null) {
-                System.out.println("Book is already present in the database.");
-                return false;
-            } else if (book.getTitle() == null) {
-                return false;
-            } else {
-                saveBookAndAuthor(book);
-                System.out.println(book);
-                return true;
+    static void printAuthors(List<AuthorResponseDTO> authors) {
+        CatalogRenderer renderer = new CatalogRenderer(System.out, CatalogRenderer.Format.TEXT);
+        try {
+            for (AuthorResponseDTO author : authors) {
+                renderer.author(author);
             }
-
+            renderer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        return false;
     }
 
     /**
-     * Creates a Book object from a BookResultDTO result.
-     *
-     * @param result the BookResultDTO object representing a book result
-     * @return the Book object created from the result
-     */
-    private Book createBookFromResult(BookResultDTO result) {
-        AuthorDTO authorDTO = result.authors().get(0);
-        int birthYear = authorDTO.birth_year() != null ? authorDTO.birth_year() : 0;
-        int deathYear = authorDTO.death_year() != null ? authorDTO.death_year() : 0;
-        Author author = new Author(authorDTO.name(), birthYear, deathYear);
-        return new Book(result.title(), author, result.languages().get(0), result.download_count());
-    }
-
-    /**
-     * Saves the book and author information to the repositories. If the author
-     * already exists in the database, it associates the existing author with the
-     * book.
+     * Gets an integer input from the user. If the input is not a valid integer,
+     * it returns -1 and prompts the user to enter a valid number.
      *
-     * @param book the Book object to be saved
+     * @return the integer input from the user or -1 if the input is invalid
      */
-    private void saveBookAndAuthor(Book book) {
-        Author existingAuthor = authorRepository.findByName(book.getAuthor().getName());
-        if (existingAuthor != null) {
-            book.setAuthor(existingAuthor);
-        } else {
-            authorRepository.save(book.getAuthor());
+    private int getIntInput() {
+        try {
+            return scan.nextInt();
+        } catch (InputMismatchException e) {
+            System.out.println("Only numbers are allowed!");
+            scan.next();
+            return -1;
         }
-        bookRepository.save(book);
+
     }
 
     /**
@@ -0,0 +1,140 @@
+package com.API.BookLens.main;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.InputMismatchException;
+import java.util.List;
+import java.util.Scanner;
+
+import com.API.BookLens.dto.AuthorResponseDTO;
+import com.API.BookLens.dto.BookResponseDTO;
+import com.API.BookLens.service.CatalogSnapshot;
+
+/**
+ * A read-only console answering from a saved catalog snapshot. It runs without
+ * Spring, Hibernate or a database connection, so it starts in well under a
+ * second; the answers are as old as the snapshot file.
+ */
+public class SnapshotConsole {
+    private final CatalogSnapshot snapshot;
+
+    private Scanner scan = new Scanner(System.in);
+
+    private static final int MOST_POPULAR_LIMIT = 10;
+
+    private static final String MENU = """
+            -----------------------------------------
+                Choose your number option (read-only):
+                1- List alive authors of certain year
+                2- List books with a certain language
+                3- List most popular books
+                4- Close application
+            -----------------------------------------
+            """;
+
+    /**
+     * Constructs the console.
+     *
+     * @param snapshot the snapshot the queries are answered from
+     */
+    public SnapshotConsole(CatalogSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Loads the snapshot file and runs the console until it is closed.
+     *
+     * @param file the snapshot file
+     * @throws IOException if the file cannot be read
+     */
+    public static void run(Path file) throws IOException {
+        long start = System.nanoTime();
+        CatalogSnapshot snapshot = CatalogSnapshot.load(file);
+        System.out.printf("Loaded catalog snapshot of %s with %d books and %d authors in %d ms%n",
+                snapshot.getBuiltAt(), snapshot.getBookCount(), snapshot.getAuthorCount(),
+                (System.nanoTime() - start) / 1_000_000);
+        new SnapshotConsole(snapshot).menu();
+    }
+
+    /**
+     * Displays the read-only menu and handles user input until the user
+     * closes it or the input ends.
+     */
+    public void menu() {
+        while (true) {
+            System.out.println(MENU);
+            if (!scan.hasNext()) {
+                return;
+            }
+            int option = getIntInput();
+            if (option == -1)
+                continue;
+
+            switch (option) {
+                case 1 -> listAliveAuthorsOfCertainYear();
+                case 2 -> listBooksWithACertainLanguage();
+                case 3 -> Main.printBooks(snapshot.mostDownloaded(MOST_POPULAR_LIMIT));
+                case 4 -> {
+                    System.out.println("Closing application...");
+                    return;
+                }
+                default -> System.out.println("Invalid option!");
+            }
+
+        }
+
+    }
+
+    /**
+     * Prompts the user for a year and lists the authors alive during it.
+     */
+    private void listAliveAuthorsOfCertainYear() {
+        System.out.println("Type the year:");
+        int year = getIntInput();
+        if (year == -1)
+            return;
+
+        List<AuthorResponseDTO> aliveAuthors = snapshot.aliveInYear(year);
+        if (aliveAuthors.isEmpty()) {
+            System.out.println("No living authors found for the year " + year);
+        } else {
+            Main.printAuthors(aliveAuthors);
+        }
+
+    }
+
+    /**
+     * Prompts the user for one of the language codes in the snapshot and
+     * lists the books in it.
+     */
+    private void listBooksWithACertainLanguage() {
+        System.out.println("Type the language code " + snapshot.getLanguages() + ":");
+        String language = scan.next().trim().toLowerCase();
+
+        List<BookResponseDTO> booksWithCertainLanguage = snapshot.byLanguage(language);
+        if (booksWithCertainLanguage.isEmpty()) {
+            System.out.println("No books found in this language: " + language);
+        } else {
+            Main.printBooks(booksWithCertainLanguage);
+        }
+
+    }
+
+    /**
+     * Gets an integer input from the user. If the input is not a valid integer,
+     * it returns -1 and prompts the user to enter a valid number.
+     *
+     * @return the integer input from the user or -1 if the input is invalid
+     */
+    private int getIntInput() {
+        try {
+            return scan.nextInt();
+        } catch (InputMismatchException e) {
+            System.out.println("Only numbers are allowed!");
+            scan.next();
+            return -1;
+        }
+
+    }
+
+}
@@ -1,30 +1,63 @@
 package com.API.BookLens.model;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.annotations.BatchSize;
+
+import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.OrderColumn;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 /**
- * Represents a Book entity.
+ * Represents a Book entity. A book has any number of authors and languages,
+ * kept in the order Gutendex lists them. Both live in join tables indexed by
+ * author and by language, so filtering on either is an index lookup.
  */
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = {
+        @Index(name = "idx_books_number_of_downloads", columnList = "number_of_downloads")
+})
 public class Book {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "books_seq")
+    @SequenceGenerator(name = "books_seq", sequenceName = "books_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true)
     private String title;
 
-    @ManyToOne
-    private Author author;
-
-    private String language;
+    @Column(name = "gutendex_id", unique = true)
+    private Long gutendexId;
+
+    @ManyToMany
+    @JoinTable(name = "book_authors",
+            joinColumns = @JoinColumn(name = "book_id"),
+            inverseJoinColumns = @JoinColumn(name = "author_id"),
+            indexes = @Index(name = "idx_book_authors_author", columnList = "author_id, book_id"))
+    @OrderColumn(name = "position")
+    @BatchSize(size = 100)
+    private List<Author> authors = new ArrayList<>();
+
+    @ElementCollection
+    @CollectionTable(name = "book_languages",
+            joinColumns = @JoinColumn(name = "book_id"),
+            indexes = @Index(name = "idx_book_languages_language", columnList = "language, book_id"))
+    @Column(name = "language", length = 16)
+    @OrderColumn(name = "position")
+    @BatchSize(size = 100)
+    private List<String> languages = new ArrayList<>();
 
     private Long numberOfDownloads;
 
@@ -36,15 +69,27 @@ public class Book {
      * Constructs a new Book with the given attributes.
      *
      * @param title             The title of the book.
+     * @param authors           The authors of the book, in credit order.
+     * @param languages         The languages of the book.
+     * @param numberOfDownloads The number of downloads of the book.
+     */
+    public Book(String title, List<Author> authors, List<String> languages, int numberOfDownloads) {
+        this.title = title;
+        this.authors = new ArrayList<>(authors);
+        this.languages = new ArrayList<>(languages);
+        this.numberOfDownloads = (long) numberOfDownloads;
+    }
+
+    /**
+     * Constructs a new Book with a single author and language.
+     *
+     * @param title             The title of the book.
      * @param author            The author of the book.
      * @param language          The language of the book.
      * @param numberOfDownloads The number of downloads of the book.
      */
     public Book(String title, Author author, String language, int numberOfDownloads) {
-        this.title = title;
-        this.author = author;
-        this.language = language;
-        this.numberOfDownloads = (long) numberOfDownloads;
+        this(title, List.of(author), List.of(language), numberOfDownloads);
     }
 
     public Long getId() {
@@ -63,20 +108,28 @@ public class Book {
         this.title = title;
     }
 
-    public Author getAuthor() {
-        return author;
+    public Long getGutendexId() {
+        return gutendexId;
+    }
+
+    public void setGutendexId(Long gutendexId) {
+        this.gutendexId = gutendexId;
+    }
+
+    public List<Author> getAuthors() {
+        return authors;
     }
 
-    public void setAuthor(Author author) {
-        this.author = author;
+    public void setAuthors(List<Author> authors) {
+        this.authors = authors;
     }
 
-    public String getLanguage() {
-        return language;
+    public List<String> getLanguages() {
+        return languages;
     }
 
-    public void setLanguage(String language) {
-        this.language = language;
+    public void setLanguages(List<String> languages) {
+        this.languages = languages;
     }
 
     public Long getNumberOfDownloads() {
@@ -97,8 +150,8 @@ public class Book {
         return "-----------------------------------------\n" +
                 "                   Book                  \n" +
                 "Title: " + title + "\n" +
-                "Author: " + author.getName() + "\n" +
-                "Language: " + language + "\n" +
+                "Authors: " + String.join("; ", authors.stream().map(Author::getName).toList()) + "\n" +
+                "Languages: " + String.join(", ", languages) + "\n" +
                 "Downloads: " + numberOfDownloads + "\n" +
                 "-----------------------------------------";
     }
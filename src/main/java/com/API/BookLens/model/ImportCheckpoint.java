@@ -0,0 +1,62 @@
+package com.API.BookLens.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Records how much of a catalog file has been imported, so an interrupted
+ * import resumes after the last byte it finished instead of starting over.
+ * The file size tells a different file at the same path apart.
+ */
+@Entity
+@Table(name = "import_checkpoints")
+public class ImportCheckpoint {
+    @Id
+    @Column(length = 512)
+    private String file;
+
+    private long fileSize;
+
+    private long importedBytes;
+
+    private Instant updatedAt;
+
+    public ImportCheckpoint() {
+    }
+
+    public ImportCheckpoint(String file, long fileSize, long importedBytes, Instant updatedAt) {
+        this.file = file;
+        this.fileSize = fileSize;
+        this.importedBytes = importedBytes;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public long getImportedBytes() {
+        return importedBytes;
+    }
+
+    public void setImportedBytes(long importedBytes) {
+        this.importedBytes = importedBytes;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.API.BookLens.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Records how far a background job has walked the books table, so a restart
+ * resumes after the last book it finished instead of starting over.
+ */
+@Entity
+@Table(name = "refresh_checkpoints")
+public class RefreshCheckpoint {
+    @Id
+    private String name;
+
+    private long lastBookId;
+
+    private Instant updatedAt;
+
+    public RefreshCheckpoint() {
+    }
+
+    public RefreshCheckpoint(String name, long lastBookId, Instant updatedAt) {
+        this.name = name;
+        this.lastBookId = lastBookId;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getLastBookId() {
+        return lastBookId;
+    }
+
+    public void setLastBookId(long lastBookId) {
+        this.lastBookId = lastBookId;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+}
@@ -1,11 +1,23 @@
 package com.API.BookLens.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.API.BookLens.dto.AuthorKeyDTO;
+import com.API.BookLens.dto.AuthorRowDTO;
 import com.API.BookLens.model.Author;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * This interface represents a repository for managing Author entities.
  * It extends JpaRepository, providing the basic CRUD operations for Author
@@ -13,7 +25,85 @@ import com.API.BookLens.model.Author;
  */
 @Repository
 public interface AuthorRepository extends JpaRepository<Author, Long> {
-    @Query(value = "SELECT * FROM authors a WHERE a.name = :name LIMIT 1", nativeQuery = true)
-    Author findByName(String name);
+    Author findFirstByName(String name);
+
+    List<Author> findByNameIn(Collection<String> names);
+
+    @Query("SELECT new com.API.BookLens.dto.AuthorKeyDTO(a.id, a.name) FROM Author a WHERE a.name IN :names")
+    List<AuthorKeyDTO> findKeysByNameIn(Collection<String> names);
+
+    /**
+     * Streams the id and name of every author through a forward-only cursor.
+     * Must be called inside a transaction and the stream must be closed.
+     *
+     * @return a stream over all author keys
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.API.BookLens.dto.AuthorKeyDTO(a.id, a.name) FROM Author a")
+    Stream<AuthorKeyDTO> streamKeys();
+
+    /**
+     * Streams every author without their books, in id order, through a
+     * forward-only cursor. Must be called inside a transaction and the stream
+     * must be closed.
+     *
+     * @return a stream over all authors
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.API.BookLens.dto.AuthorRowDTO(a.id, a.name, a.dateOfBirthYear, a.dateOfDeathYear)"
+            + " FROM Author a ORDER BY a.id")
+    Stream<AuthorRowDTO> streamRows();
+
+    /**
+     * Finds the authors who were alive during the given year, that is, born no
+     * later and dead no earlier than it.
+     *
+     * @param year the year to check
+     * @return the authors alive during the year, with their books
+     */
+    @EntityGraph(attributePaths = "books")
+    @Query("SELECT a FROM Author a WHERE a.dateOfBirthYear <= :year AND a.dateOfDeathYear >= :year")
+    List<Author> findAliveInYear(int year);
+
+    @Query("SELECT a.id FROM Author a WHERE a.dateOfBirthYear <= :year AND a.dateOfDeathYear >= :year"
+            + " AND a.id > :id ORDER BY a.id")
+    List<Long> findIdsAliveInYearAfter(int year, Long id, Limit limit);
+
+    /**
+     * Finds the authors alive during the given year that come after the given
+     * id, together with their books, paging the ids first like
+     * {@link #findPageWithBooks}.
+     *
+     * @param year  the year to check
+     * @param id    the id of the last author already seen, or 0 to start
+     * @param limit the maximum number of authors to return
+     * @return the next authors alive during the year ordered by id, with their
+     *         books
+     */
+    default List<Author> findAliveInYearPage(int year, Long id, Limit limit) {
+        List<Long> ids = findIdsAliveInYearAfter(year, id, limit);
+        return ids.isEmpty() ? List.of() : findByIdInOrderByIdAsc(ids);
+    }
+
+    @Query("SELECT a.id FROM Author a WHERE a.id > :id ORDER BY a.id")
+    List<Long> findIdsAfter(Long id, Limit limit);
+
+    @EntityGraph(attributePaths = "books")
+    List<Author> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    /**
+     * Finds the authors that come after the given id together with their
+     * books. The ids are paged first and the books fetched for that page only,
+     * since limiting a query that joins a collection would be applied in
+     * memory.
+     *
+     * @param id    the id of the last author already seen, or 0 to start
+     * @param limit the maximum number of authors to return
+     * @return the next authors ordered by id, with their books
+     */
+    default List<Author> findPageWithBooks(Long id, Limit limit) {
+        List<Long> ids = findIdsAfter(id, limit);
+        return ids.isEmpty() ? List.of() : findByIdInOrderByIdAsc(ids);
+    }
 
 }
\ No newline at end of file
@@ -1,11 +1,30 @@
 package com.API.BookLens.repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.API.BookLens.dto.BookAuthorRowDTO;
+import com.API.BookLens.dto.BookCoreRowDTO;
+import com.API.BookLens.dto.BookLanguageRowDTO;
+import com.API.BookLens.dto.DownloadCountDTO;
 import com.API.BookLens.model.Book;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * This interface represents a repository for managing Book entities.
  * It extends JpaRepository, providing the basic CRUD operations for Book
@@ -13,7 +32,156 @@ import com.API.BookLens.model.Book;
  */
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
-    @Query(value = "SELECT * FROM books b WHERE b.title = :title LIMIT 1", nativeQuery = true)
-    Book findByTitle(String title);
+    Book findFirstByTitle(String title);
+
+    /**
+     * Finds which of the given titles are already stored.
+     *
+     * @param titles the titles to check
+     * @return the subset of the titles present in the database
+     */
+    @Query("SELECT b.title FROM Book b WHERE b.title IN :titles")
+    Set<String> findExistingTitles(Collection<String> titles);
+
+    /**
+     * Streams every stored title through a forward-only cursor. Must be called
+     * inside a transaction and the stream must be closed.
+     *
+     * @return a stream over all titles
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT b.title FROM Book b")
+    Stream<String> streamTitles();
+
+    /**
+     * Streams the id, title and downloads of every book in id order through a
+     * forward-only cursor. Must be called inside a transaction and the stream
+     * must be closed.
+     *
+     * @return a stream over all books
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.API.BookLens.dto.BookCoreRowDTO(b.id, b.title, b.numberOfDownloads)"
+            + " FROM Book b ORDER BY b.id")
+    Stream<BookCoreRowDTO> streamCoreRows();
+
+    /**
+     * Streams every author credit ordered by book id and credit order through
+     * a forward-only cursor, to be merged with {@link #streamCoreRows}. Must
+     * be called inside a transaction and the stream must be closed.
+     *
+     * @return a stream over all credits
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.API.BookLens.dto.BookAuthorRowDTO(b.id, a.id, a.name)"
+            + " FROM Book b JOIN b.authors a ORDER BY b.id, index(a)")
+    Stream<BookAuthorRowDTO> streamAuthorRows();
+
+    /**
+     * Streams every book language ordered by book id and position through a
+     * forward-only cursor, to be merged with {@link #streamCoreRows}. Must be
+     * called inside a transaction and the stream must be closed.
+     *
+     * @return a stream over all languages
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.API.BookLens.dto.BookLanguageRowDTO(b.id, l)"
+            + " FROM Book b JOIN b.languages l ORDER BY b.id, index(l)")
+    Stream<BookLanguageRowDTO> streamLanguageRows();
+
+    /**
+     * Finds the download counts of the books with a known Gutendex id that
+     * come after the given id, for keyset pagination.
+     *
+     * @param id    the id of the last book already seen, or 0 to start
+     * @param limit the maximum number of books to return
+     * @return the next download counts ordered by id
+     */
+    @Query("SELECT new com.API.BookLens.dto.DownloadCountDTO(b.id, b.gutendexId, b.numberOfDownloads)"
+            + " FROM Book b WHERE b.gutendexId IS NOT NULL AND b.id > :id ORDER BY b.id")
+    List<DownloadCountDTO> findDownloadCountsAfter(Long id, Limit limit);
+
+    /**
+     * Finds the books in the given language through the language index of
+     * the join table.
+     *
+     * @param language the language code
+     * @return the books in the language ordered by id, with their authors and
+     *         languages
+     */
+    @EntityGraph(attributePaths = { "authors", "languages" })
+    @Query("SELECT b FROM Book b JOIN b.languages l WHERE l = :language ORDER BY b.id")
+    List<Book> findByLanguage(String language);
+
+    @Query("SELECT b.id FROM Book b JOIN b.languages l WHERE l = :language AND b.id > :id ORDER BY b.id")
+    List<Long> findIdsInLanguageAfter(String language, Long id, Limit limit);
+
+    @Query("SELECT b.id FROM Book b WHERE b.id > :id ORDER BY b.id")
+    List<Long> findIdsAfter(Long id, Limit limit);
+
+    @Query("SELECT b.id FROM Book b ORDER BY b.numberOfDownloads DESC, b.id")
+    List<Long> findIdsByDownloads(Limit limit);
+
+    @EntityGraph(attributePaths = { "authors", "languages" })
+    List<Book> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Loads the given books with their authors and languages in one query and
+     * returns them in the order of the ids. Pages are selected by id first,
+     * since limiting a query that joins collections would be applied in
+     * memory.
+     *
+     * @param ids the ids of the books to load
+     * @return the books in the order of the ids
+     */
+    default List<Book> findAllWithDetails(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> order = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i++) {
+            order.put(ids.get(i), i);
+        }
+        List<Book> books = new ArrayList<>(findByIdIn(ids));
+        books.sort(Comparator.comparing(book -> order.get(book.getId())));
+        return books;
+    }
+
+    /**
+     * Finds the books that come after the given id, for keyset pagination.
+     *
+     * @param id    the id of the last book already seen, or 0 to start
+     * @param limit the maximum number of books to return
+     * @return the next books ordered by id, with their authors and languages
+     */
+    default List<Book> findPage(Long id, Limit limit) {
+        return findAllWithDetails(findIdsAfter(id, limit));
+    }
+
+    /**
+     * Finds the books in the given language that come after the given id, for
+     * keyset pagination. The language index of the join table also orders its
+     * entries by book id, so each page is a range scan.
+     *
+     * @param language the language code
+     * @param id       the id of the last book already seen, or 0 to start
+     * @param limit    the maximum number of books to return
+     * @return the next books in the language ordered by id, with their
+     *         authors and languages
+     */
+    default List<Book> findLanguagePage(String language, Long id, Limit limit) {
+        return findAllWithDetails(findIdsInLanguageAfter(language, id, limit));
+    }
+
+    /**
+     * Finds the books with the highest number of downloads.
+     *
+     * @param limit the maximum number of books to return
+     * @return the books ordered from the most to the least downloaded, with
+     *         their authors and languages
+     */
+    default List<Book> findMostDownloaded(Limit limit) {
+        return findAllWithDetails(findIdsByDownloads(limit));
+    }
 
 }
\ No newline at end of file
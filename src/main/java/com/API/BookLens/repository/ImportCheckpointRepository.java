@@ -0,0 +1,14 @@
+package com.API.BookLens.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.API.BookLens.model.ImportCheckpoint;
+
+/**
+ * This interface represents a repository for managing ImportCheckpoint
+ * entities, keyed by file path.
+ */
+@Repository
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpoint, String> {
+}
@@ -0,0 +1,14 @@
+package com.API.BookLens.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.API.BookLens.model.RefreshCheckpoint;
+
+/**
+ * This interface represents a repository for managing RefreshCheckpoint
+ * entities, keyed by job name.
+ */
+@Repository
+public interface RefreshCheckpointRepository extends JpaRepository<RefreshCheckpoint, String> {
+}
@@ -0,0 +1,323 @@
+package com.API.BookLens.service;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * A long-lived HTTP client for JSON APIs.
+ *
+ * A single {@link HttpClient} is reused for every request so connections,
+ * TLS sessions and the selector thread are shared. Requests have a timeout,
+ * are retried with jittered exponential backoff on 429, 5xx and I/O errors,
+ * and the number of requests in flight to the same host is limited. A streamed
+ * body holds its permit until it is read to the end or closed. Every
+ * attempt is timed, from the moment it gets its permit until the response
+ * headers arrive, and tagged with the status it got. One client is shared by
+ * everything that calls the upstream API.
+ */
+@Component
+public class ApiClient {
+
+    private static final Duration BASE_BACKOFF = Duration.ofMillis(200);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(10);
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final int maxRetries;
+    private final int maxInFlightPerHost;
+    private final ConcurrentMap<String, HostLimiter> limiters = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a client with the given limits.
+     *
+     * @param requestTimeout     timeout of each individual attempt
+     * @param maxRetries         how many times a failed request is retried
+     * @param maxInFlightPerHost maximum number of concurrent requests per host
+     */
+    public ApiClient(@Value("${booklens.api.request-timeout:PT30S}") Duration requestTimeout,
+            @Value("${booklens.api.max-retries:3}") int maxRetries,
+            @Value("${booklens.api.max-in-flight-per-host:8}") int maxInFlightPerHost) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.requestTimeout = requestTimeout;
+        this.maxRetries = maxRetries;
+        this.maxInFlightPerHost = maxInFlightPerHost;
+    }
+
+    public int getMaxInFlightPerHost() {
+        return maxInFlightPerHost;
+    }
+
+    /**
+     * Retrieves the body of the given address, blocking until it is available.
+     *
+     * @param address the address to retrieve
+     * @return the response body
+     * @throws IOException          if every attempt failed or the server
+     *                              answered with a non-retryable error status
+     * @throws InterruptedException if the calling thread is interrupted while
+     *                              waiting
+     */
+    public String get(String address) throws IOException, InterruptedException {
+        return await(getAsync(address));
+    }
+
+    /**
+     * Retrieves the body of the given address asynchronously.
+     *
+     * @param address the address to retrieve
+     * @return a future completed with the response body, or exceptionally with
+     *         an {@link IOException} when every attempt failed
+     */
+    public CompletableFuture<String> getAsync(String address) {
+        return send(newRequest(address), HttpResponse.BodyHandlers.ofString(), 0, false)
+                .thenApply(HttpResponse::body);
+    }
+
+    /**
+     * Opens the body of the given address as a stream, blocking until the
+     * response headers are available. The caller must close the stream; until
+     * it is closed or read to the end it counts as a request in flight.
+     *
+     * @param address the address to retrieve
+     * @return the response body as a stream
+     * @throws IOException          if every attempt failed or the server
+     *                              answered with a non-retryable error status
+     * @throws InterruptedException if the calling thread is interrupted while
+     *                              waiting
+     */
+    public InputStream getStream(String address) throws IOException, InterruptedException {
+        HttpRequest request = newRequest(address);
+        HostLimiter limiter = limiter(request);
+        CompletableFuture<InputStream> stream = send(request, HttpResponse.BodyHandlers.ofInputStream(), 0, true)
+                .thenApply(response -> new PermitStream(response.body(), limiter));
+        try {
+            return await(stream);
+        } catch (InterruptedException e) {
+            // nobody is left to close the stream once it opens
+            stream.thenAccept(ApiClient::discard);
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for the given future, rethrowing its failure as the exception the
+     * blocking methods declare.
+     */
+    static <T> T await(CompletableFuture<T> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private HttpRequest newRequest(String address) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(address))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private HostLimiter limiter(HttpRequest request) {
+        return limiters.computeIfAbsent(request.uri().getHost(), host -> new HostLimiter(maxInFlightPerHost));
+    }
+
+    /**
+     * Sends the request, retrying it as configured. The permit of an attempt
+     * is released once its response headers arrive, except for a successful
+     * response when it is kept, which leaves releasing it to the caller.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> send(HttpRequest request, HttpResponse.BodyHandler<T> handler,
+            int attempt, boolean keepPermit) {
+        HostLimiter limiter = limiter(request);
+        long[] start = new long[1];
+        return limiter.acquire()
+                .thenCompose(ignored -> {
+                    start[0] = System.nanoTime();
+                    return client.sendAsync(request, handler);
+                })
+                .handle((response, error) -> {
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    BookLensMetrics.apiRequest(request.uri().getHost(),
+                            response != null ? String.valueOf(response.statusCode()) : "IO_ERROR",
+                            System.nanoTime() - start[0]);
+                    if (cause == null && response.statusCode() < 400) {
+                        if (!keepPermit) {
+                            limiter.release();
+                        }
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    limiter.release();
+                    if (response != null) {
+                        discard(response.body());
+                    }
+                    if (attempt < maxRetries && isRetryable(response, cause)) {
+                        long delay = backoffMillis(response, attempt);
+                        return CompletableFuture.supplyAsync(() -> null,
+                                CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                                .thenCompose(retry -> send(request, handler, attempt + 1, keepPermit));
+                    }
+                    return CompletableFuture.<HttpResponse<T>>failedFuture(cause != null
+                            ? cause
+                            : new IOException("HTTP " + response.statusCode() + " from " + request.uri()));
+                })
+                .thenCompose(future -> future);
+    }
+
+    /**
+     * Closes a streamed body that is not going to be read, so the connection
+     * can go back to the pool.
+     */
+    private static void discard(Object body) {
+        if (body instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                // nothing left to release
+            }
+        }
+    }
+
+    private static boolean isRetryable(HttpResponse<?> response, Throwable error) {
+        if (error != null) {
+            return error instanceof IOException;
+        }
+        int status = response.statusCode();
+        return status == 429 || status >= 500;
+    }
+
+    /**
+     * Computes the delay before the next attempt using full jitter, honouring a
+     * Retry-After header expressed in seconds when the server sends one.
+     */
+    private static long backoffMillis(HttpResponse<?> response, int attempt) {
+        if (response != null) {
+            var retryAfter = response.headers().firstValue("Retry-After");
+            if (retryAfter.isPresent()) {
+                try {
+                    return Math.min(MAX_BACKOFF.toMillis(), Long.parseLong(retryAfter.get().trim()) * 1000);
+                } catch (NumberFormatException e) {
+                    // HTTP-date form, fall back to the computed backoff
+                }
+            }
+        }
+        long ceiling = Math.min(MAX_BACKOFF.toMillis(), BASE_BACKOFF.toMillis() << attempt);
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * A streamed body that gives its permit back the first time it reaches
+     * the end or is closed.
+     */
+    private static final class PermitStream extends FilterInputStream {
+        private final HostLimiter limiter;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PermitStream(InputStream body, HostLimiter limiter) {
+            super(body);
+            this.limiter = limiter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return released(super.read());
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            return released(super.read(buffer, offset, length));
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                release();
+            }
+        }
+
+        private int released(int read) {
+            if (read < 0) {
+                release();
+            }
+            return read;
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                limiter.release();
+            }
+        }
+    }
+
+    /**
+     * Limits the number of requests in flight to one host. Waiting callers are
+     * handed a permit in arrival order as soon as one is released.
+     */
+    private static final class HostLimiter {
+        private final int limit;
+        private final Deque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+        private int active;
+
+        private HostLimiter(int limit) {
+            this.limit = limit;
+        }
+
+        private synchronized CompletableFuture<Void> acquire() {
+            if (active < limit) {
+                active++;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> permit = new CompletableFuture<>();
+            waiting.add(permit);
+            return permit;
+        }
+
+        private void release() {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    active--;
+                    return;
+                }
+            }
+            next.complete(null);
+        }
+    }
+
+}
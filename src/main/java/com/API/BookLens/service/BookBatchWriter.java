@@ -0,0 +1,311 @@
+package com.API.BookLens.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.API.BookLens.dto.BookResponseDTO;
+import com.API.BookLens.model.Author;
+import com.API.BookLens.model.Book;
+import com.API.BookLens.repository.AuthorRepository;
+import com.API.BookLens.repository.BookRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Collects books and writes them in batches instead of one round trip per
+ * book.
+ *
+ * Each flush resolves the titles and the names of every author of the whole
+ * batch through the lookup cache, which needs at most one IN query each,
+ * drops titles that are already stored, reuses existing authors and inserts
+ * the rest, with their author and language rows, in a single transaction so
+ * Hibernate can use JDBC batching. A flush happens when the buffer reaches
+ * the batch size, when the flush interval elapses, or when {@link #flush()}
+ * is called.
+ *
+ * Each batch is resolved, written and recorded in the lookup cache while
+ * holding the ingest locks of its titles and authors, so a search saving one
+ * of them at the same time waits for the batch and then finds it stored.
+ *
+ * One book the database rejects, such as a title too long for its column or
+ * one the collation deems equal to a stored title, rolls back its whole
+ * batch. That batch is then written again book by book, and the books
+ * rejected on their own are skipped and counted. On any other failure the
+ * books not yet written go back to the buffer for the next flush. Saved,
+ * duplicate and rejected books are counted once their transaction commits.
+ */
+@Service
+public class BookBatchWriter {
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final CatalogLookupCache lookupCache;
+    private final SearchIndex searchIndex;
+    private final IngestLocks ingestLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final ScheduledExecutorService timer;
+
+    private final Object flushLock = new Object();
+    private List<Book> buffer = new ArrayList<>();
+
+    private final AtomicLong saved = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * Constructs the writer.
+     *
+     * @param bookRepository     the repository for book data
+     * @param authorRepository   the repository for author data
+     * @param lookupCache        the cache used to resolve titles and authors
+     * @param searchIndex        the index written books are added to
+     * @param ingestLocks        the locks serializing writes of the same title
+     *                           or author
+     * @param transactionManager the transaction manager each flush runs in
+     * @param batchSize          number of buffered books that triggers a flush
+     * @param flushIntervalMillis maximum time a book waits in the buffer
+     */
+    public BookBatchWriter(BookRepository bookRepository, AuthorRepository authorRepository,
+            CatalogLookupCache lookupCache, SearchIndex searchIndex, IngestLocks ingestLocks,
+            PlatformTransactionManager transactionManager,
+            @Value("${booklens.writer.batch-size:500}") int batchSize,
+            @Value("${booklens.writer.flush-interval-ms:1000}") long flushIntervalMillis) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.lookupCache = lookupCache;
+        this.searchIndex = searchIndex;
+        this.ingestLocks = ingestLocks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.timer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "book-batch-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds books to the buffer, flushing on the calling thread if the buffer
+     * is full. Each book must carry transient authors holding at least their
+     * names.
+     *
+     * @param books the books to write
+     */
+    public void addAll(Collection<Book> books) {
+        boolean full;
+        synchronized (this) {
+            buffer.addAll(books);
+            full = buffer.size() >= batchSize;
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes everything currently buffered and waits until it is committed.
+     * Books the database rejects are skipped and counted.
+     *
+     * @throws RuntimeException if writing fails for another reason, after
+     *                          putting the books not yet written back into the
+     *                          buffer
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            List<Book> batch;
+            synchronized (this) {
+                if (buffer.isEmpty()) {
+                    return;
+                }
+                batch = buffer;
+                buffer = new ArrayList<>();
+            }
+            int next = 0;
+            try {
+                while (next < batch.size()) {
+                    List<Book> chunk = batch.subList(next, Math.min(batch.size(), next + batchSize));
+                    try {
+                        writeChunk(chunk);
+                        next += chunk.size();
+                    } catch (DataIntegrityViolationException e) {
+                        for (Book book : chunk) {
+                            writeAlone(book);
+                            next++;
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                requeue(batch.subList(next, batch.size()));
+                throw e;
+            }
+        }
+    }
+
+    public long getSaved() {
+        return saved.get();
+    }
+
+    public long getDuplicates() {
+        return duplicates.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Writes one chunk in its own transaction and counts and indexes its
+     * books once it is committed. If the transaction fails, the books are
+     * reset to the state they were added in, so they can be written again.
+     */
+    private void writeChunk(List<Book> chunk) {
+        List<List<Author>> incoming = new ArrayList<>(chunk.size());
+        for (Book book : chunk) {
+            incoming.add(book.getAuthors());
+        }
+        Written written;
+        try {
+            written = ingestLocks.withBooks(chunk, () -> {
+                Written batchWritten = transactionTemplate.execute(status -> write(chunk));
+                lookupCache.recordTitles(batchWritten.books().stream().map(Book::getTitle).toList());
+                for (Author author : batchWritten.authors()) {
+                    lookupCache.recordAuthor(author.getName(), author.getId());
+                }
+                return batchWritten;
+            });
+        } catch (RuntimeException e) {
+            // the rolled back inserts left their ids and the stored authors on the books
+            for (int i = 0; i < chunk.size(); i++) {
+                Book book = chunk.get(i);
+                book.setId(null);
+                book.setAuthors(incoming.get(i));
+                for (Author author : incoming.get(i)) {
+                    author.setId(null);
+                }
+            }
+            throw e;
+        }
+        saved.addAndGet(written.books().size());
+        duplicates.addAndGet(written.duplicates());
+        BookLensMetrics.ingested("bulk", "saved", written.books().size());
+        BookLensMetrics.ingested("bulk", "duplicate", written.duplicates());
+        searchIndex.add(written.entries());
+    }
+
+    /**
+     * Writes a book of a chunk the database rejected, skipping it if the
+     * database rejects the book itself.
+     */
+    private void writeAlone(Book book) {
+        try {
+            writeChunk(List.of(book));
+        } catch (DataIntegrityViolationException e) {
+            rejected.incrementAndGet();
+            BookLensMetrics.ingested("bulk", "rejected", 1);
+        }
+    }
+
+    private void requeue(List<Book> unwritten) {
+        synchronized (this) {
+            List<Book> books = new ArrayList<>(unwritten.size() + buffer.size());
+            books.addAll(unwritten);
+            books.addAll(buffer);
+            buffer = books;
+        }
+    }
+
+    /**
+     * Writes one batch inside the current transaction.
+     *
+     * @return the books and authors that were inserted, the search index
+     *         entries of the books and the number of duplicates skipped
+     */
+    private Written write(List<Book> batch) {
+        Set<String> titles = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        for (Book book : batch) {
+            titles.add(book.getTitle());
+            for (Author author : book.getAuthors()) {
+                names.add(author.getName());
+            }
+        }
+
+        Set<String> knownTitles = new HashSet<>(lookupCache.filterKnownTitles(titles));
+        Map<String, Author> authors = new HashMap<>();
+        lookupCache.resolveAuthorIds(names)
+                .forEach((name, id) -> authors.put(name, authorRepository.getReferenceById(id)));
+
+        List<Author> newAuthors = new ArrayList<>();
+        List<Book> newBooks = new ArrayList<>();
+        List<List<String>> authorNames = new ArrayList<>();
+        for (Book book : batch) {
+            if (!knownTitles.add(book.getTitle())) {
+                continue;
+            }
+            List<Author> credited = new ArrayList<>(book.getAuthors().size());
+            List<String> creditedNames = new ArrayList<>(book.getAuthors().size());
+            for (Author incoming : book.getAuthors()) {
+                credited.add(authors.computeIfAbsent(incoming.getName(), name -> {
+                    newAuthors.add(incoming);
+                    return incoming;
+                }));
+                creditedNames.add(incoming.getName());
+            }
+            book.setAuthors(credited);
+            authorNames.add(creditedNames);
+            newBooks.add(book);
+        }
+
+        authorRepository.saveAll(newAuthors);
+        bookRepository.saveAll(newBooks);
+
+        // existing authors are uninitialized references, so the names are taken from the incoming books
+        List<BookResponseDTO> entries = new ArrayList<>(newBooks.size());
+        for (int i = 0; i < newBooks.size(); i++) {
+            Book book = newBooks.get(i);
+            entries.add(new BookResponseDTO(book.getId(), book.getTitle(), authorNames.get(i),
+                    List.copyOf(book.getLanguages()), book.getNumberOfDownloads()));
+        }
+        return new Written(newBooks, newAuthors, entries, batch.size() - newBooks.size());
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            System.out.println("Background flush failed, retrying with the next one: " + e.getMessage());
+        }
+    }
+
+    private record Written(List<Book> books, List<Author> authors, List<BookResponseDTO> entries,
+            int duplicates) {
+    }
+
+    /**
+     * Flushes what is left and stops the flush timer.
+     */
+    @PreDestroy
+    public void close() {
+        timer.shutdownNow();
+        flush();
+    }
+
+}
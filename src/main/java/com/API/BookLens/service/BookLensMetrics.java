@@ -0,0 +1,119 @@
+package com.API.BookLens.service;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * A utility class that records the application's own meters.
+ *
+ * Meters are registered in the global registry, which Spring Boot binds to
+ * the Prometheus registry, so the static utilities can record without being
+ * beans. Outside a Spring context nothing is bound and recording is a no-op.
+ * Meters are looked up by name and tags on each call; Micrometer caches them.
+ */
+public final class BookLensMetrics {
+
+    /** Latency of each request attempt to an API, tagged by host and status. */
+    public static final String API_REQUESTS = "booklens.api.requests";
+    /** Time spent parsing JSON, tagged by the converter method. */
+    public static final String JSON_PARSE = "booklens.json.parse";
+    /** Size of the JSON payloads parsed, tagged by the converter method. */
+    public static final String JSON_PAYLOAD = "booklens.json.payload";
+    /** Books offered for ingest, tagged by source and outcome. */
+    public static final String INGEST_BOOKS = "booklens.ingest.books";
+    /** Calls through a single flight, tagged by its name and whether they were started or coalesced. */
+    public static final String SINGLE_FLIGHT_CALLS = "booklens.singleflight.calls";
+    /** Time each console menu option took, including waiting for input. */
+    public static final String MENU_OPERATIONS = "booklens.menu.operations";
+
+    private BookLensMetrics() {
+    }
+
+    /**
+     * Records one request attempt.
+     *
+     * @param host   the host the request went to
+     * @param status the response status, or IO_ERROR when none was received
+     * @param nanos  the time until the response headers arrived
+     */
+    public static void apiRequest(String host, String status, long nanos) {
+        Timer.builder(API_REQUESTS)
+                .tag("host", host)
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records one JSON document parsed.
+     *
+     * @param method the converter method that parsed it
+     * @param bytes  the size of the document in bytes
+     * @param nanos  the time the parse took
+     */
+    public static void jsonParsed(String method, long bytes, long nanos) {
+        Timer.builder(JSON_PARSE)
+                .tag("method", method)
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder(JSON_PAYLOAD)
+                .baseUnit("bytes")
+                .tag("method", method)
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry)
+                .record(bytes);
+    }
+
+    /**
+     * Counts books offered for ingest.
+     *
+     * @param source  where the books came from, bulk or search
+     * @param outcome saved, duplicate for titles already stored, or empty for
+     *                results without a title
+     * @param count   the number of books
+     */
+    public static void ingested(String source, String outcome, long count) {
+        if (count > 0) {
+            Counter.builder(INGEST_BOOKS)
+                    .tag("source", source)
+                    .tag("outcome", outcome)
+                    .register(Metrics.globalRegistry)
+                    .increment(count);
+        }
+    }
+
+    /**
+     * Counts one call through a single flight.
+     *
+     * @param name    the name of the single flight
+     * @param outcome started when the call found none in flight for its key,
+     *                coalesced when it shared one
+     */
+    public static void singleFlight(String name, String outcome) {
+        Counter.builder(SINGLE_FLIGHT_CALLS)
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .register(Metrics.globalRegistry)
+                .increment();
+    }
+
+    /**
+     * Times a console menu option.
+     *
+     * @param option    the name of the option
+     * @param operation the option to run
+     */
+    public static void menuOperation(String option, Runnable operation) {
+        Timer.builder(MENU_OPERATIONS)
+                .tag("option", option)
+                .register(Metrics.globalRegistry)
+                .record(operation);
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.API.BookLens.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.API.BookLens.dto.AuthorDTO;
+import com.API.BookLens.dto.AuthorResponseDTO;
+import com.API.BookLens.dto.BookResponseDTO;
+import com.API.BookLens.dto.BookResultDTO;
+import com.API.BookLens.dto.BookRowDTO;
+import com.API.BookLens.model.Author;
+import com.API.BookLens.model.Book;
+
+/**
+ * A utility class to map API results to entities and entities to HTTP
+ * responses.
+ */
+public class BookMapper {
+
+    /**
+     * Creates a Book object from a BookResultDTO result, keeping its Gutendex
+     * id and every named author and language in the order given. Unknown
+     * birth and death years become 0, and an author listed twice is kept
+     * once.
+     *
+     * @param result The BookResultDTO object representing a book result.
+     * @return The Book object created from the result, with new Authors.
+     */
+    public static Book toBook(BookResultDTO result) {
+        Map<String, Author> authors = new LinkedHashMap<>();
+        for (AuthorDTO authorDTO : result.authors()) {
+            if (authorDTO.name() == null) {
+                continue;
+            }
+            int birthYear = authorDTO.birth_year() != null ? authorDTO.birth_year() : 0;
+            int deathYear = authorDTO.death_year() != null ? authorDTO.death_year() : 0;
+            authors.putIfAbsent(authorDTO.name(), new Author(authorDTO.name(), birthYear, deathYear));
+        }
+        List<String> languages = result.languages().stream().filter(Objects::nonNull).distinct().toList();
+        Book book = new Book(result.title(), new ArrayList<>(authors.values()), languages, result.download_count());
+        book.setGutendexId(result.id() == null ? null : result.id().longValue());
+        return book;
+    }
+
+    /**
+     * Creates the HTTP response of a book. The authors and languages must be
+     * loaded.
+     *
+     * @param book The book to describe.
+     * @return The response describing the book.
+     */
+    public static BookResponseDTO toResponse(Book book) {
+        return new BookResponseDTO(book.getId(), book.getTitle(),
+                book.getAuthors().stream().map(Author::getName).toList(), List.copyOf(book.getLanguages()),
+                book.getNumberOfDownloads());
+    }
+
+    /**
+     * Creates the HTTP response of a book read by a full catalog scan.
+     *
+     * @param book The row describing the book.
+     * @return The response describing the book.
+     */
+    public static BookResponseDTO toResponse(BookRowDTO book) {
+        return new BookResponseDTO(book.id(), book.title(), book.authors(), book.languages(),
+                book.numberOfDownloads());
+    }
+
+    /**
+     * Creates the HTTP response of an author. The books must be loaded.
+     *
+     * @param author The author to describe.
+     * @return The response describing the author and the titles of their books.
+     */
+    public static AuthorResponseDTO toResponse(Author author) {
+        return new AuthorResponseDTO(author.getId(), author.getName(), author.getDateOfBirthYear(),
+                author.getDateOfDeathYear(), author.getBooks().stream().map(Book::getTitle).toList());
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.API.BookLens.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.API.BookLens.dto.BookResponseDTO;
+import com.API.BookLens.dto.BookResultDTO;
+import com.API.BookLens.model.Author;
+import com.API.BookLens.model.Book;
+import com.API.BookLens.repository.AuthorRepository;
+import com.API.BookLens.repository.BookRepository;
+
+/**
+ * Searches the local catalog for a title and, when it has no match, the book
+ * source, saving the best match found there. Shared by the console and the
+ * HTTP API.
+ *
+ * Concurrent searches saving the same title or author are serialized by the
+ * ingest locks, which the batch writer takes as well, so the check whether a
+ * row exists and its insert never race within the process. The book and the
+ * authors inserted for it are written in one transaction, so a book the
+ * database rejects, such as a title another process inserted in between,
+ * leaves no authors behind.
+ */
+@Service
+public class BookSearchService {
+
+    private static final int LOCAL_MATCH_LIMIT = 10;
+
+    private final AuthorRepository authorRepository;
+    private final BookRepository bookRepository;
+    private final CatalogLookupCache lookupCache;
+    private final BookSource bookSource;
+    private final SearchIndex searchIndex;
+    private final IngestLocks ingestLocks;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructs the service.
+     *
+     * @param authorRepository   the repository for author data
+     * @param bookRepository     the repository for book data
+     * @param lookupCache        the cache of stored titles and authors
+     * @param bookSource         where titles missing locally are searched
+     * @param searchIndex        the index of the stored catalog
+     * @param ingestLocks        the locks serializing writes of the same
+     *                           title or author
+     * @param transactionManager the transaction manager each save runs in
+     */
+    public BookSearchService(AuthorRepository authorRepository, BookRepository bookRepository,
+            CatalogLookupCache lookupCache, BookSource bookSource, SearchIndex searchIndex,
+            IngestLocks ingestLocks, PlatformTransactionManager transactionManager) {
+        this.authorRepository = authorRepository;
+        this.bookRepository = bookRepository;
+        this.lookupCache = lookupCache;
+        this.bookSource = bookSource;
+        this.searchIndex = searchIndex;
+        this.ingestLocks = ingestLocks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Looks the given title up in the local catalog. Only when no stored
+     * title holds every word does it search the book source and save the
+     * first result with its authors, unless a book with that title is
+     * already stored. Books whose authors match the words do not count, so
+     * searching for "Emma" still finds the novel when only books by authors
+     * named Emma are stored.
+     *
+     * @param title the title to search for
+     * @return what the search found and whether it was saved
+     * @throws IOException          if the book source fails
+     * @throws InterruptedException if interrupted while waiting for the
+     *                              book source
+     */
+    public SearchResult searchAndSave(String title) throws IOException, InterruptedException {
+        List<BookResponseDTO> matches = searchIndex.searchTitles(title, LOCAL_MATCH_LIMIT);
+        if (!matches.isEmpty()) {
+            return new SearchResult(Status.FOUND_LOCALLY, null, matches);
+        }
+        List<BookResultDTO> results = ApiClient.await(bookSource.search(title));
+        if (results.isEmpty() || results.get(0).title() == null) {
+            BookLensMetrics.ingested("search", "empty", 1);
+            return new SearchResult(Status.NOT_FOUND, null, List.of());
+        }
+        Book book = BookMapper.toBook(results.get(0));
+        Status status = ingestLocks.withBooks(List.of(book), () -> save(book));
+        return new SearchResult(status, book, List.of());
+    }
+
+    /**
+     * Saves the book unless its title is stored. Must be called holding the
+     * ingest locks of the book.
+     */
+    private Status save(Book book) {
+        if (lookupCache.isKnownTitle(book.getTitle())) {
+            BookLensMetrics.ingested("search", "duplicate", 1);
+            return Status.ALREADY_PRESENT;
+        }
+        saveBookAndAuthors(book);
+        BookLensMetrics.ingested("search", "saved", 1);
+        return Status.SAVED;
+    }
+
+    /**
+     * Saves the book and its authors in one transaction. Authors that already
+     * exist in the database are looked up together and associated with the
+     * book instead.
+     *
+     * @param book the Book object to be saved
+     */
+    private void saveBookAndAuthors(Book book) {
+        List<Author> inserted = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            List<String> candidates = book.getAuthors().stream()
+                    .map(Author::getName)
+                    .filter(lookupCache::mightKnowAuthor)
+                    .toList();
+            Map<String, Author> stored = new HashMap<>();
+            if (!candidates.isEmpty()) {
+                authorRepository.findByNameIn(candidates).forEach(author -> stored.put(author.getName(), author));
+            }
+            List<Author> credited = new ArrayList<>(book.getAuthors().size());
+            for (Author author : book.getAuthors()) {
+                credited.add(stored.computeIfAbsent(author.getName(), name -> {
+                    inserted.add(author);
+                    return authorRepository.save(author);
+                }));
+            }
+            book.setAuthors(credited);
+            bookRepository.save(book);
+        });
+        for (Author author : inserted) {
+            lookupCache.recordAuthor(author.getName(), author.getId());
+        }
+        lookupCache.recordTitles(List.of(book.getTitle()));
+        searchIndex.add(List.of(BookMapper.toResponse(book)));
+    }
+
+    /**
+     * The outcome of a search.
+     */
+    public enum Status {
+        /** Stored books match the title, so the book source was not searched. */
+        FOUND_LOCALLY,
+        /** The first result was saved. */
+        SAVED,
+        /** A book with the title of the first result is already stored. */
+        ALREADY_PRESENT,
+        /** The book source returned no usable result. */
+        NOT_FOUND
+    }
+
+    /**
+     * The outcome of a search. The book is the first result of the book
+     * source, null when the search was answered locally or found nothing, and
+     * not saved when it was already present. The matches are the stored books
+     * found locally.
+     */
+    public record SearchResult(Status status, Book book, List<BookResponseDTO> matches) {
+    }
+
+}
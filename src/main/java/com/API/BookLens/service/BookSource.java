@@ -0,0 +1,65 @@
+package com.API.BookLens.service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import com.API.BookLens.dto.BookResultDTO;
+
+/**
+ * Where book metadata comes from: the Gutendex API, a local mirror of it, or
+ * several of them tried in turn. Results have the shape of Gutendex results
+ * whatever the source. Every method returns a future, so callers can issue
+ * many lookups at once and wait for all of them.
+ */
+public interface BookSource {
+
+    /**
+     * The name of the source, used in messages.
+     *
+     * @return a short name such as gutendex or mirror
+     */
+    String name();
+
+    /**
+     * Searches titles and author names for every word of the query, most
+     * downloaded first.
+     *
+     * @param query the words to search for
+     * @return a future completed with the first page of matches, empty when
+     *         nothing matches
+     */
+    CompletableFuture<List<BookResultDTO>> search(String query);
+
+    /**
+     * Runs several searches at once.
+     *
+     * @param queries the queries to run
+     * @return a future completed with the matches of each query, in the order
+     *         the queries were given
+     */
+    default CompletableFuture<Map<String, List<BookResultDTO>>> searchAll(Collection<String> queries) {
+        Map<String, CompletableFuture<List<BookResultDTO>>> searches = new LinkedHashMap<>();
+        for (String query : queries) {
+            searches.computeIfAbsent(query, this::search);
+        }
+        return CompletableFuture.allOf(searches.values().toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<String, List<BookResultDTO>> results = new LinkedHashMap<>();
+                    searches.forEach((query, search) -> results.put(query, search.join()));
+                    return results;
+                });
+    }
+
+    /**
+     * Fetches books by their Gutendex ids.
+     *
+     * @param ids the Gutendex ids to fetch
+     * @return a future completed with the books found, in no particular
+     *         order; ids the source does not know are left out
+     */
+    CompletableFuture<List<BookResultDTO>> fetchByIds(Collection<Integer> ids);
+
+}
@@ -0,0 +1,157 @@
+package com.API.BookLens.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.API.BookLens.dto.AuthorRowDTO;
+import com.API.BookLens.repository.AuthorRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps a {@link CatalogSnapshot} of the stored catalog, rebuilt in the
+ * background at a fixed interval. Queries answered from it may miss books
+ * saved since the last rebuild. When {@code booklens.snapshot.export-path} is
+ * set, every scheduled rebuild is also saved to that file, for instances that
+ * serve from the file without a database.
+ */
+@Component
+public class CatalogAnalytics {
+
+    private final AuthorRepository authorRepository;
+    private final CatalogStreamer catalogStreamer;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration refreshInterval;
+    private final String exportPath;
+    private final ScheduledExecutorService timer;
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private volatile CatalogSnapshot snapshot;
+
+    /**
+     * Constructs the analytics.
+     *
+     * @param authorRepository   the repository for author data
+     * @param catalogStreamer    the scan the books are read with
+     * @param transactionManager the transaction manager each rebuild runs in
+     * @param refreshInterval    the time between the end of one rebuild and
+     *                           the start of the next
+     * @param exportPath         the file every scheduled rebuild is saved to,
+     *                           or empty to save none
+     */
+    public CatalogAnalytics(AuthorRepository authorRepository, CatalogStreamer catalogStreamer,
+            PlatformTransactionManager transactionManager,
+            @Value("${booklens.snapshot.refresh-interval:PT5M}") Duration refreshInterval,
+            @Value("${booklens.snapshot.export-path:}") String exportPath) {
+        this.authorRepository = authorRepository;
+        this.catalogStreamer = catalogStreamer;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.refreshInterval = refreshInterval;
+        this.exportPath = exportPath;
+        this.timer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "catalog-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Builds the first snapshot in the background once the context is ready
+     * and schedules the following ones.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void start() {
+        if (started.compareAndSet(false, true)) {
+            timer.scheduleWithFixedDelay(this::rebuildQuietly, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns the latest snapshot.
+     *
+     * @return the snapshot, or null until the first one is built
+     */
+    public CatalogSnapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * Builds a new snapshot from the database on the calling thread and
+     * publishes it.
+     *
+     * @return the new snapshot
+     */
+    public synchronized CatalogSnapshot rebuild() {
+        long start = System.nanoTime();
+        CatalogSnapshot.Builder builder = new CatalogSnapshot.Builder();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<AuthorRowDTO> authors = authorRepository.streamRows()) {
+                authors.forEach(builder::addAuthor);
+            }
+            catalogStreamer.forEachBook(builder::addBook);
+        });
+        CatalogSnapshot built = builder.build();
+        snapshot = built;
+        System.out.printf("Catalog snapshot built with %d books and %d authors, about %d KB, in %d ms%n",
+                built.getBookCount(), built.getAuthorCount(), built.footprintBytes() / 1024,
+                (System.nanoTime() - start) / 1_000_000);
+        return built;
+    }
+
+    /**
+     * Builds a new snapshot from the database and saves it to the given file.
+     *
+     * @param file the file to write
+     * @return the size of the file in bytes
+     * @throws IOException if the file cannot be written
+     */
+    public long export(Path file) throws IOException {
+        CatalogSnapshot built = rebuild();
+        return save(built, file);
+    }
+
+    private long save(CatalogSnapshot built, Path file) throws IOException {
+        long start = System.nanoTime();
+        long bytes = built.save(file);
+        System.out.printf("Catalog snapshot saved to %s, %d KB, in %d ms%n", file, bytes / 1024,
+                (System.nanoTime() - start) / 1_000_000);
+        return bytes;
+    }
+
+    private void rebuildQuietly() {
+        CatalogSnapshot built;
+        try {
+            built = rebuild();
+        } catch (RuntimeException e) {
+            System.out.println("Catalog snapshot rebuild failed, keeping the previous one: " + e.getMessage());
+            return;
+        }
+        if (!exportPath.isBlank()) {
+            try {
+                save(built, Path.of(exportPath));
+            } catch (IOException | RuntimeException e) {
+                System.out.println("Catalog snapshot export to " + exportPath + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        timer.shutdownNow();
+    }
+
+}
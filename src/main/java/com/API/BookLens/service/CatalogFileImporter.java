@@ -0,0 +1,331 @@
+package com.API.BookLens.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.API.BookLens.dto.BookResultDTO;
+import com.API.BookLens.model.Book;
+import com.API.BookLens.model.ImportCheckpoint;
+import com.API.BookLens.repository.ImportCheckpointRepository;
+
+/**
+ * Imports a local catalog file without touching the network: a Gutendex dump
+ * with one result object per line, the same format the mirror reads.
+ *
+ * The file is cut into chunks of about {@code booklens.import.chunk-bytes}
+ * that end on a line break. A pool with one thread per core maps each chunk
+ * read-only, parses and maps its lines and hands the books to the batch
+ * writer, flushing before the chunk counts as done. The end of the longest
+ * run of done chunks is saved as a checkpoint, so an interrupted import
+ * resumes after it. Chunks done past a gap are written again on resume and
+ * dropped by the writer as duplicates. A completed import deletes its
+ * checkpoint.
+ *
+ * Lines that are not a result object are skipped and counted as malformed,
+ * and books the database rejects, such as a title too long for its column or
+ * a Gutendex id already stored under another title, are skipped by the
+ * writer and counted as rejected. Neither stops the import or its resume.
+ */
+@Service
+public class CatalogFileImporter {
+
+    private static final long REPORT_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final BookBatchWriter writer;
+    private final ImportCheckpointRepository checkpointRepository;
+    private final int parallelism;
+    private final int chunkBytes;
+
+    /**
+     * Constructs the importer.
+     *
+     * @param writer               the writer books are handed to
+     * @param checkpointRepository the repository checkpoints are kept in
+     * @param parallelism          number of chunks parsed at the same time, or
+     *                             0 for one per core
+     * @param chunkBytes           approximate size of a chunk
+     */
+    public CatalogFileImporter(BookBatchWriter writer, ImportCheckpointRepository checkpointRepository,
+            @Value("${booklens.import.parallelism:0}") int parallelism,
+            @Value("${booklens.import.chunk-bytes:4194304}") int chunkBytes) {
+        if (parallelism < 0 || chunkBytes < 1) {
+            throw new IllegalArgumentException("Parallelism cannot be negative and chunk size must be positive.");
+        }
+        this.writer = writer;
+        this.checkpointRepository = checkpointRepository;
+        this.parallelism = parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism;
+        this.chunkBytes = chunkBytes;
+    }
+
+    /**
+     * Imports the given file, resuming after its checkpoint if an earlier
+     * import of the same file was interrupted.
+     *
+     * @param file the catalog file
+     * @return a report of the lines read and books handed to the writer
+     * @throws IOException          if the file cannot be read
+     * @throws InterruptedException if interrupted while waiting for the
+     *                              chunks
+     */
+    public synchronized ImportReport importFile(Path file) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        String key = file.toAbsolutePath().normalize().toString();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long resumeAt = checkpointRepository.findById(key)
+                    .filter(checkpoint -> checkpoint.getFileSize() == size)
+                    .map(ImportCheckpoint::getImportedBytes)
+                    .orElse(0L);
+            if (resumeAt > 0) {
+                System.out.printf("Resuming %s at %.1f of %.1f MB%n", file, megabytes(resumeAt), megabytes(size));
+            }
+            List<Chunk> chunks = chunks(channel, resumeAt, size);
+            Progress progress = new Progress(key, size, resumeAt, start);
+            long rejectedBefore = writer.getRejected();
+
+            ExecutorService pool = Executors.newFixedThreadPool(parallelism, new ImportThreadFactory());
+            try {
+                List<Future<?>> pending = new ArrayList<>(chunks.size());
+                for (Chunk chunk : chunks) {
+                    pending.add(pool.submit(() -> {
+                        progress.complete(chunk, importChunk(channel, chunk));
+                        return null;
+                    }));
+                }
+                for (Future<?> chunk : pending) {
+                    await(chunk);
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+
+            checkpointRepository.deleteById(key);
+            ImportReport report = progress.report(writer.getRejected() - rejectedBefore,
+                    Duration.ofNanos(System.nanoTime() - start));
+            System.out.println("Catalog import finished: " + report);
+            return report;
+        }
+    }
+
+    /**
+     * Cuts the part of the file after the given position into chunks ending
+     * right after a line break, or at the end of the file.
+     */
+    private List<Chunk> chunks(FileChannel channel, long from, long size) throws IOException {
+        List<Chunk> chunks = new ArrayList<>();
+        ByteBuffer probe = ByteBuffer.allocate(64 * 1024);
+        long position = from;
+        while (position < size) {
+            long end = Math.min(size, position + chunkBytes);
+            while (end < size) {
+                probe.clear();
+                int read = channel.read(probe, end);
+                int newline = -1;
+                for (int i = 0; i < read && newline < 0; i++) {
+                    if (probe.get(i) == '\n') {
+                        newline = i;
+                    }
+                }
+                if (newline >= 0) {
+                    end += newline + 1;
+                    break;
+                }
+                end += read;
+            }
+            chunks.add(new Chunk(chunks.size(), position, Math.min(end, size)));
+            position = Math.min(end, size);
+        }
+        return chunks;
+    }
+
+    /**
+     * Parses the lines of one chunk, hands the books to the writer and waits
+     * until they are committed.
+     */
+    private Counts importChunk(FileChannel channel, Chunk chunk) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk.start(), chunk.length());
+        List<Book> books = new ArrayList<>();
+        long lines = 0;
+        long empty = 0;
+        long malformed = 0;
+        int lineStart = 0;
+        int limit = buffer.limit();
+        for (int i = 0; i <= limit; i++) {
+            if (i < limit && buffer.get(i) != '\n') {
+                continue;
+            }
+            int lineEnd = i > lineStart && buffer.get(i - 1) == '\r' ? i - 1 : i;
+            if (lineEnd > lineStart) {
+                byte[] line = new byte[lineEnd - lineStart];
+                buffer.get(lineStart, line);
+                lines++;
+                try {
+                    BookResultDTO result = JsonConverter.parseResult(new String(line, StandardCharsets.UTF_8));
+                    if (result.title() == null) {
+                        empty++;
+                    } else {
+                        books.add(BookMapper.toBook(result));
+                    }
+                } catch (IOException | RuntimeException e) {
+                    malformed++;
+                }
+            }
+            lineStart = i + 1;
+        }
+        BookLensMetrics.ingested("file", "empty", empty);
+        writer.addAll(books);
+        writer.flush();
+        return new Counts(lines, books.size(), empty, malformed);
+    }
+
+    private static void await(Future<?> chunk) throws IOException, InterruptedException {
+        try {
+            chunk.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static double megabytes(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+
+    /**
+     * Summary of an import.
+     *
+     * @param lines     number of non-blank lines read
+     * @param books     number of books handed to the writer, including titles
+     *                  it dropped as already stored and books the database
+     *                  rejected
+     * @param empty     number of results without a title
+     * @param malformed number of lines that were not a result object
+     * @param rejected  number of books the database rejected
+     * @param bytes     number of bytes read, excluding the part skipped on
+     *                  resume
+     * @param resumedAt position the import resumed at, 0 for a fresh import
+     * @param elapsed   wall-clock time of the import
+     */
+    public record ImportReport(long lines, long books, long empty, long malformed, long rejected, long bytes,
+            long resumedAt, Duration elapsed) {
+
+        public double booksPerSecond() {
+            double seconds = elapsed.toNanos() / 1_000_000_000.0;
+            return seconds == 0 ? 0 : books / seconds;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "%d lines, %d books (%d without title, %d malformed, %d rejected), %.1f MB in %d ms - %.1f books/s%s",
+                    lines, books, empty, malformed, rejected, megabytes(bytes), elapsed.toMillis(), booksPerSecond(),
+                    resumedAt > 0 ? String.format(" - resumed at %.1f MB", megabytes(resumedAt)) : "");
+        }
+    }
+
+    private record Chunk(int index, long start, long end) {
+
+        long length() {
+            return end - start;
+        }
+    }
+
+    private record Counts(long lines, long books, long empty, long malformed) {
+    }
+
+    /**
+     * Tracks the chunks of an import. Chunks finish out of order, so the
+     * checkpoint only moves over the ones finished without a gap before them.
+     */
+    private final class Progress {
+        private final String key;
+        private final long size;
+        private final long resumedAt;
+        private final long start;
+        private final TreeMap<Integer, Long> finished = new TreeMap<>();
+        private int nextIndex;
+        private long imported;
+        private long lines;
+        private long books;
+        private long empty;
+        private long malformed;
+        private long bytes;
+        private long lastReport;
+
+        private Progress(String key, long size, long resumedAt, long start) {
+            this.key = key;
+            this.size = size;
+            this.resumedAt = resumedAt;
+            this.imported = resumedAt;
+            this.start = start;
+            this.lastReport = start;
+        }
+
+        private synchronized void complete(Chunk chunk, Counts counts) {
+            lines += counts.lines();
+            books += counts.books();
+            empty += counts.empty();
+            malformed += counts.malformed();
+            bytes += chunk.length();
+            finished.put(chunk.index(), chunk.end());
+            long advanced = imported;
+            for (Long end = finished.remove(nextIndex); end != null; end = finished.remove(nextIndex)) {
+                advanced = end;
+                nextIndex++;
+            }
+            if (advanced != imported) {
+                imported = advanced;
+                checkpointRepository.save(new ImportCheckpoint(key, size, imported, Instant.now()));
+            }
+            long now = System.nanoTime();
+            if (now - lastReport >= REPORT_INTERVAL_NANOS) {
+                lastReport = now;
+                double seconds = (now - start) / 1_000_000_000.0;
+                System.out.printf("Imported %.1f of %.1f MB (%.0f%%), %d books, %.0f books/s%n",
+                        megabytes(resumedAt + bytes), megabytes(size), 100.0 * (resumedAt + bytes) / size, books,
+                        books / seconds);
+            }
+        }
+
+        private synchronized ImportReport report(long rejected, Duration elapsed) {
+            return new ImportReport(lines, books, empty, malformed, rejected, bytes, resumedAt, elapsed);
+        }
+    }
+
+    private static final class ImportThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "catalog-import-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
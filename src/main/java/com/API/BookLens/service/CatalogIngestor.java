@@ -0,0 +1,273 @@
+package com.API.BookLens.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.API.BookLens.dto.BookDTO;
+import com.API.BookLens.dto.BookResultDTO;
+import com.API.BookLens.dto.PageInfoDTO;
+
+/**
+ * Walks every page of a Gutendex listing and hands the results to a sink in
+ * batches.
+ *
+ * The first page is fetched to learn the total count and page size; the
+ * remaining pages are then fetched concurrently by a bounded pool while the
+ * calling thread drains them and flushes batches to the sink. When the
+ * {@code next} link carries no {@code page} parameter the pages are walked
+ * one after the other instead.
+ */
+@Service
+public class CatalogIngestor {
+
+    private final GutendexBookSource gutendex;
+    private final int concurrency;
+    private final int batchSize;
+
+    /**
+     * Constructs the ingestor with the given limits.
+     *
+     * @param gutendex    the source listing pages are read from
+     * @param concurrency maximum number of pages fetched at the same time
+     * @param batchSize   number of results handed to the sink per batch
+     */
+    public CatalogIngestor(GutendexBookSource gutendex, @Value("${booklens.ingest.concurrency:8}") int concurrency,
+            @Value("${booklens.ingest.batch-size:500}") int batchSize) {
+        if (concurrency < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Concurrency and batch size must be positive.");
+        }
+        this.gutendex = gutendex;
+        this.concurrency = concurrency;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Ingests every page of the Gutendex listing for a search.
+     *
+     * @param query     the words to search for, or blank for the whole catalog
+     * @param batchSink receives the parsed results, at most batchSize at a
+     *                  time, always on the calling thread
+     * @return a report with the pages and rows processed and the elapsed time
+     * @throws IOException          if the first page cannot be fetched
+     * @throws InterruptedException if the calling thread is interrupted while
+     *                              waiting for pages
+     */
+    public IngestReport ingestSearch(String query, Consumer<List<BookResultDTO>> batchSink)
+            throws IOException, InterruptedException {
+        return ingest(gutendex.listingAddress(query), batchSink);
+    }
+
+    /**
+     * Ingests every page reachable from the given listing address.
+     *
+     * @param firstPageUrl the address of the first Gutendex page
+     * @param batchSink    receives the parsed results, at most batchSize at a
+     *                     time, always on the calling thread
+     * @return a report with the pages and rows processed and the elapsed time
+     * @throws IOException          if the first page cannot be fetched
+     * @throws InterruptedException if the calling thread is interrupted while
+     *                              waiting for pages
+     */
+    public IngestReport ingest(String firstPageUrl, Consumer<List<BookResultDTO>> batchSink)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Batcher batcher = new Batcher(batchSink);
+
+        BookDTO firstPage = fetchPage(firstPageUrl);
+        batcher.addAll(firstPage.results());
+        int pages = 1;
+        int failedPages = 0;
+
+        String next = firstPage.next();
+        if (next != null && pageNumber(next) > 0 && !firstPage.results().isEmpty()) {
+            int pageSize = firstPage.results().size();
+            int totalPages = (firstPage.count() + pageSize - 1) / pageSize;
+            List<String> pageUrls = new ArrayList<>();
+            for (int page = pageNumber(next); page <= totalPages; page++) {
+                pageUrls.add(withPage(next, page));
+            }
+
+            ExecutorService pool = Executors.newFixedThreadPool(concurrency, new FetchThreadFactory());
+            BlockingQueue<PageResult> fetched = new ArrayBlockingQueue<>(concurrency * 2);
+            try {
+                for (String url : pageUrls) {
+                    pool.execute(() -> fetchInto(url, fetched));
+                }
+                for (int i = 0; i < pageUrls.size(); i++) {
+                    PageResult result = fetched.take();
+                    if (result.page() != null) {
+                        batcher.addAll(result.page().results());
+                        pages++;
+                    } else {
+                        System.out.println("Failed to fetch " + result.url() + ": " + result.error().getMessage());
+                        failedPages++;
+                    }
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+        } else {
+            while (next != null) {
+                BookDTO page = fetchPage(next);
+                batcher.addAll(page.results());
+                pages++;
+                next = page.next();
+            }
+        }
+
+        batcher.flush();
+        return new IngestReport(pages, failedPages, batcher.rows, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Fetches a page and puts the outcome on the queue, blocking while the
+     * queue is full so that fetching never runs too far ahead of persistence.
+     */
+    private void fetchInto(String url, BlockingQueue<PageResult> fetched) {
+        PageResult result;
+        try {
+            result = new PageResult(url, fetchPage(url), null);
+        } catch (IOException | RuntimeException e) {
+            result = new PageResult(url, null, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            fetched.put(result);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private BookDTO fetchPage(String url) throws IOException, InterruptedException {
+        List<BookResultDTO> results = new ArrayList<>();
+        PageInfoDTO info = gutendex.streamListing(url, results::add);
+        return new BookDTO(info.count(), info.next(), info.previous(), results);
+    }
+
+    /**
+     * Extracts the value of the {@code page} query parameter.
+     *
+     * @param url the page address
+     * @return the page number, or -1 if the address has none
+     */
+    static int pageNumber(String url) {
+        String query = URI.create(url).getRawQuery();
+        if (query == null) {
+            return -1;
+        }
+        for (String parameter : query.split("&")) {
+            if (parameter.startsWith("page=")) {
+                try {
+                    return Integer.parseInt(parameter.substring("page=".length()));
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Replaces the {@code page} query parameter of the given address.
+     *
+     * @param url  an address that already has a page parameter
+     * @param page the new page number
+     * @return the address pointing to the requested page
+     */
+    static String withPage(String url, int page) {
+        return url.replaceFirst("([?&])page=\\d+", "$1page=" + page);
+    }
+
+    /**
+     * Summary of an ingest run.
+     *
+     * @param pages       number of pages fetched and parsed
+     * @param failedPages number of pages that could not be fetched
+     * @param rows        number of results handed to the sink
+     * @param elapsed     wall-clock time of the whole run
+     */
+    public record IngestReport(int pages, int failedPages, long rows, Duration elapsed) {
+
+        public double pagesPerSecond() {
+            return perSecond(pages);
+        }
+
+        public double rowsPerSecond() {
+            return perSecond(rows);
+        }
+
+        private double perSecond(long amount) {
+            double seconds = elapsed.toNanos() / 1_000_000_000.0;
+            return seconds == 0 ? 0 : amount / seconds;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d pages (%d failed), %d rows in %d ms - %.1f pages/s, %.1f rows/s",
+                    pages, failedPages, rows, elapsed.toMillis(), pagesPerSecond(), rowsPerSecond());
+        }
+    }
+
+    private record PageResult(String url, BookDTO page, Exception error) {
+    }
+
+    /**
+     * Accumulates results and flushes them to the sink once a batch is full.
+     * Only used from the ingesting thread.
+     */
+    private final class Batcher {
+        private final Consumer<List<BookResultDTO>> sink;
+        private List<BookResultDTO> buffer = new ArrayList<>(batchSize);
+        private long rows;
+
+        private Batcher(Consumer<List<BookResultDTO>> sink) {
+            this.sink = sink;
+        }
+
+        private void addAll(List<BookResultDTO> results) {
+            for (BookResultDTO result : results) {
+                buffer.add(result);
+                if (buffer.size() >= batchSize) {
+                    flush();
+                }
+            }
+        }
+
+        private void flush() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            List<BookResultDTO> batch = buffer;
+            buffer = new ArrayList<>(batchSize);
+            sink.accept(batch);
+            rows += batch.size();
+        }
+    }
+
+    private static final class FetchThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "catalog-fetch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
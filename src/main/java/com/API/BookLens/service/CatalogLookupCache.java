@@ -0,0 +1,278 @@
+package com.API.BookLens.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.API.BookLens.dto.AuthorKeyDTO;
+import com.API.BookLens.repository.AuthorRepository;
+import com.API.BookLens.repository.BookRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Answers "is this title stored?" and "what is this author's id?" on the
+ * ingest path without going to the database for names seen before.
+ *
+ * Every stored title and author name is added to a Bloom filter, so a name
+ * the filter has never seen is definitely absent and costs no query. Names the
+ * filter might contain are checked against bounded W-TinyLFU caches of
+ * confirmed titles and author ids, and only the remaining ones are looked up
+ * in one IN query. The filters are warmed in the background at startup; until
+ * then every lookup goes to the database. Callers must report what they save
+ * through {@link #recordTitles} and {@link #recordAuthor} once it is
+ * committed.
+ */
+@Component
+public class CatalogLookupCache {
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final long expectedEntries;
+    private volatile BloomFilter titleFilter;
+    private volatile BloomFilter authorFilter;
+    private final Cache<String, Boolean> knownTitles;
+    private final Cache<String, Long> authorIds;
+    private final AtomicBoolean warmUpStarted = new AtomicBoolean();
+    private volatile boolean warmed;
+
+    private final AtomicLong titleNegatives = new AtomicLong();
+    private final AtomicLong titleHits = new AtomicLong();
+    private final AtomicLong titleQueries = new AtomicLong();
+    private final AtomicLong authorNegatives = new AtomicLong();
+    private final AtomicLong authorHits = new AtomicLong();
+    private final AtomicLong authorQueries = new AtomicLong();
+
+    /**
+     * Constructs the cache.
+     *
+     * @param bookRepository     the repository for book data
+     * @param authorRepository   the repository for author data
+     * @param transactionManager the transaction manager the warm-up runs in
+     * @param expectedEntries    number of titles and of authors the Bloom
+     *                           filters are sized for
+     * @param maximumSize        maximum entries of each confirmation cache
+     */
+    public CatalogLookupCache(BookRepository bookRepository, AuthorRepository authorRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${booklens.lookup-cache.expected-entries:1000000}") long expectedEntries,
+            @Value("${booklens.lookup-cache.maximum-size:100000}") long maximumSize) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.expectedEntries = expectedEntries;
+        this.titleFilter = new BloomFilter(expectedEntries, 0.01);
+        this.authorFilter = new BloomFilter(expectedEntries, 0.01);
+        this.knownTitles = Caffeine.newBuilder().maximumSize(maximumSize).build();
+        this.authorIds = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * Starts loading every stored title and author into the filters on a
+     * background thread once the context is ready.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void warmUp() {
+        if (!warmUpStarted.compareAndSet(false, true)) {
+            return;
+        }
+        Thread warmer = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                System.out.println("Lookup cache warm-up failed, lookups will go to the database: "
+                        + e.getMessage());
+            }
+        }, "lookup-cache-warmer");
+        warmer.setDaemon(true);
+        warmer.start();
+    }
+
+    /**
+     * Discards everything cached and reloads the filters from the database on
+     * the calling thread. Needed when rows are removed outside the
+     * application, since a Bloom filter cannot forget an entry.
+     */
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        warmed = false;
+        titleFilter = new BloomFilter(expectedEntries, 0.01);
+        authorFilter = new BloomFilter(expectedEntries, 0.01);
+        knownTitles.invalidateAll();
+        authorIds.invalidateAll();
+        long[] counts = readOnlyTransaction.execute(status -> load());
+        warmed = true;
+        System.out.printf("Lookup cache loaded %d titles and %d authors in %d ms%n",
+                counts[0], counts[1], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private long[] load() {
+        long[] counts = new long[2];
+        try (Stream<String> titles = bookRepository.streamTitles()) {
+            titles.forEach(title -> {
+                titleFilter.add(title);
+                counts[0]++;
+            });
+        }
+        try (Stream<AuthorKeyDTO> authors = authorRepository.streamKeys()) {
+            authors.forEach(author -> {
+                authorFilter.add(author.name());
+                authorIds.put(author.name(), author.id());
+                counts[1]++;
+            });
+        }
+        return counts;
+    }
+
+    /**
+     * Checks whether a title is stored.
+     *
+     * @param title the title to check
+     * @return true if a book with this title is stored
+     */
+    public boolean isKnownTitle(String title) {
+        return !filterKnownTitles(List.of(title)).isEmpty();
+    }
+
+    /**
+     * Finds which of the given titles are stored, querying the database only
+     * for titles that are neither ruled out by the filter nor already
+     * confirmed.
+     *
+     * @param titles the titles to check
+     * @return the subset of the titles that are stored
+     */
+    public Set<String> filterKnownTitles(Collection<String> titles) {
+        Set<String> known = new HashSet<>();
+        List<String> unresolved = new ArrayList<>();
+        for (String title : new HashSet<>(titles)) {
+            if (warmed && !titleFilter.mightContain(title)) {
+                titleNegatives.incrementAndGet();
+            } else if (knownTitles.getIfPresent(title) != null) {
+                titleHits.incrementAndGet();
+                known.add(title);
+            } else {
+                unresolved.add(title);
+            }
+        }
+        if (!unresolved.isEmpty()) {
+            titleQueries.addAndGet(unresolved.size());
+            for (String title : bookRepository.findExistingTitles(unresolved)) {
+                knownTitles.put(title, Boolean.TRUE);
+                known.add(title);
+            }
+        }
+        return known;
+    }
+
+    /**
+     * Checks whether an author might be stored. A false answer is definitive.
+     *
+     * @param name the author name
+     * @return false if the author is certainly not stored
+     */
+    public boolean mightKnowAuthor(String name) {
+        return !warmed || authorFilter.mightContain(name);
+    }
+
+    /**
+     * Resolves the ids of the given authors, querying the database only for
+     * names that are neither ruled out by the filter nor cached.
+     *
+     * @param names the author names to resolve
+     * @return the ids of the stored authors, by name
+     */
+    public Map<String, Long> resolveAuthorIds(Collection<String> names) {
+        Map<String, Long> ids = new HashMap<>();
+        List<String> unresolved = new ArrayList<>();
+        for (String name : new HashSet<>(names)) {
+            Long id = authorIds.getIfPresent(name);
+            if (id != null) {
+                authorHits.incrementAndGet();
+                ids.put(name, id);
+            } else if (!mightKnowAuthor(name)) {
+                authorNegatives.incrementAndGet();
+            } else {
+                unresolved.add(name);
+            }
+        }
+        if (!unresolved.isEmpty()) {
+            authorQueries.addAndGet(unresolved.size());
+            for (AuthorKeyDTO author : authorRepository.findKeysByNameIn(unresolved)) {
+                authorIds.put(author.name(), author.id());
+                ids.put(author.name(), author.id());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Records titles that have been committed to the database.
+     *
+     * @param titles the stored titles
+     */
+    public void recordTitles(Collection<String> titles) {
+        for (String title : titles) {
+            titleFilter.add(title);
+            knownTitles.put(title, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Records an author that has been committed to the database.
+     *
+     * @param name the author name
+     * @param id   the author id
+     */
+    public void recordAuthor(String name, Long id) {
+        authorFilter.add(name);
+        authorIds.put(name, id);
+    }
+
+    public boolean isWarmed() {
+        return warmed;
+    }
+
+    /**
+     * Returns the lookup counters since startup.
+     *
+     * @return how many lookups were answered by the filter, by the caches and
+     *         by the database
+     */
+    public Stats getStats() {
+        return new Stats(titleNegatives.get(), titleHits.get(), titleQueries.get(),
+                authorNegatives.get(), authorHits.get(), authorQueries.get());
+    }
+
+    /**
+     * Lookup counters. Negatives were ruled out by the Bloom filter, hits were
+     * answered by a cache and queries went to the database.
+     */
+    public record Stats(long titleNegatives, long titleHits, long titleQueries,
+            long authorNegatives, long authorHits, long authorQueries) {
+
+        @Override
+        public String toString() {
+            return String.format("titles: %d filtered, %d cached, %d queried; authors: %d filtered, %d cached, %d queried",
+                    titleNegatives, titleHits, titleQueries, authorNegatives, authorHits, authorQueries);
+        }
+    }
+
+}
@@ -0,0 +1,389 @@
+package com.API.BookLens.service;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.API.BookLens.dto.AuthorResponseDTO;
+import com.API.BookLens.dto.BookResponseDTO;
+import com.API.BookLens.dto.BookRowDTO;
+
+/**
+ * Writes books and authors as console text, CSV or JSON Lines, for listings
+ * and exports of any size.
+ *
+ * Fields are appended straight into one reused buffer, escaped as they are
+ * copied, so no string is built per book or author. The buffer is handed to
+ * the writer in blocks of about 8 KB and only flushed on {@link #flush()}, so
+ * a listing costs a few large writes instead of a synchronized, flushed
+ * println per entity. The text layout is the one of {@code Book.toString()}
+ * and {@code Author.toString()}, and JSON Lines carry the fields of the HTTP
+ * API. CSV starts with a header row, and lists within a field are joined
+ * with "; ".
+ */
+public final class CatalogRenderer implements Flushable, Closeable {
+
+    private static final int BLOCK_CHARS = 8192;
+    private static final String RULE = "-----------------------------------------\n";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * The output formats.
+     */
+    public enum Format {
+        /** The console layout, one block per entity. */
+        TEXT,
+        /** Comma-separated values with a header row. */
+        CSV,
+        /** One JSON object per line. */
+        JSONL;
+
+        /**
+         * Picks the format from a file extension: .csv, .jsonl or .ndjson,
+         * and text for anything else.
+         *
+         * @param file the file to write
+         * @return the format matching the extension
+         */
+        public static Format forFile(Path file) {
+            String name = file.getFileName().toString().toLowerCase();
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            return name.endsWith(".jsonl") || name.endsWith(".ndjson") ? JSONL : TEXT;
+        }
+    }
+
+    private final Writer out;
+    private final Format format;
+    private final StringBuilder buffer = new StringBuilder(2 * BLOCK_CHARS);
+    private char[] block = new char[2 * BLOCK_CHARS];
+    private boolean bookHeaderWritten;
+    private boolean authorHeaderWritten;
+
+    /**
+     * Constructs a renderer writing UTF-8 to a stream.
+     *
+     * @param out    the stream to write to
+     * @param format the format to write
+     */
+    public CatalogRenderer(OutputStream out, Format format) {
+        this(new OutputStreamWriter(out, StandardCharsets.UTF_8), format);
+    }
+
+    /**
+     * Constructs a renderer.
+     *
+     * @param out    the writer to write to
+     * @param format the format to write
+     */
+    public CatalogRenderer(Writer out, Format format) {
+        this.out = out;
+        this.format = format;
+    }
+
+    /**
+     * Renders a book read by a full catalog scan.
+     *
+     * @param book the book to render
+     * @throws IOException if the writer fails
+     */
+    public void book(BookRowDTO book) throws IOException {
+        book(book.id(), book.title(), book.authors(), book.languages(), book.numberOfDownloads());
+    }
+
+    /**
+     * Renders a book.
+     *
+     * @param book the book to render
+     * @throws IOException if the writer fails
+     */
+    public void book(BookResponseDTO book) throws IOException {
+        book(book.id(), book.title(), book.authors(), book.languages(), book.numberOfDownloads());
+    }
+
+    private void book(Long id, String title, List<String> authors, List<String> languages, Long downloads)
+            throws IOException {
+        switch (format) {
+            case TEXT -> {
+                buffer.append(RULE).append("                   Book                  \n");
+                buffer.append("Title: ").append(title).append('\n');
+                buffer.append("Authors: ");
+                join(authors, "; ");
+                buffer.append("\nLanguages: ");
+                join(languages, ", ");
+                buffer.append("\nDownloads: ");
+                number(downloads);
+                buffer.append('\n').append(RULE);
+            }
+            case CSV -> {
+                if (!bookHeaderWritten) {
+                    buffer.append("id,title,authors,languages,downloads\r\n");
+                    bookHeaderWritten = true;
+                }
+                csvNumber(id);
+                buffer.append(',');
+                csv(title);
+                buffer.append(',');
+                csv(authors);
+                buffer.append(',');
+                csv(languages);
+                buffer.append(',');
+                csvNumber(downloads);
+                buffer.append("\r\n");
+            }
+            case JSONL -> {
+                buffer.append("{\"id\":");
+                number(id);
+                buffer.append(",\"title\":");
+                json(title);
+                buffer.append(",\"authors\":");
+                json(authors);
+                buffer.append(",\"languages\":");
+                json(languages);
+                buffer.append(",\"numberOfDownloads\":");
+                number(downloads);
+                buffer.append("}\n");
+            }
+        }
+        drainFullBlocks();
+    }
+
+    /**
+     * Renders an author.
+     *
+     * @param author the author to render
+     * @throws IOException if the writer fails
+     */
+    public void author(AuthorResponseDTO author) throws IOException {
+        switch (format) {
+            case TEXT -> {
+                buffer.append(RULE).append("                  Author                 \n");
+                buffer.append("Name: ").append(author.name()).append('\n');
+                buffer.append("Birth year: ");
+                year(author.birthYear());
+                buffer.append("\nDeath year: ");
+                year(author.deathYear());
+                buffer.append("\nBooks: [");
+                join(author.books(), ", ");
+                buffer.append("]\n").append(RULE);
+            }
+            case CSV -> {
+                if (!authorHeaderWritten) {
+                    buffer.append("id,name,birth_year,death_year,books\r\n");
+                    authorHeaderWritten = true;
+                }
+                csvNumber(author.id());
+                buffer.append(',');
+                csv(author.name());
+                buffer.append(',');
+                if (author.birthYear() != 0) {
+                    buffer.append(author.birthYear());
+                }
+                buffer.append(',');
+                if (author.deathYear() != 0) {
+                    buffer.append(author.deathYear());
+                }
+                buffer.append(',');
+                csv(author.books());
+                buffer.append("\r\n");
+            }
+            case JSONL -> {
+                buffer.append("{\"id\":");
+                number(author.id());
+                buffer.append(",\"name\":");
+                json(author.name());
+                buffer.append(",\"birthYear\":").append(author.birthYear())
+                        .append(",\"deathYear\":").append(author.deathYear())
+                        .append(",\"books\":");
+                json(author.books());
+                buffer.append("}\n");
+            }
+        }
+        drainFullBlocks();
+    }
+
+    /**
+     * Writes everything rendered so far and flushes the writer.
+     *
+     * @throws IOException if the writer fails
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    /**
+     * Flushes and closes the writer.
+     *
+     * @throws IOException if the writer fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void join(List<String> values, String separator) {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                buffer.append(separator);
+            }
+            buffer.append(values.get(i));
+        }
+    }
+
+    private void year(int year) {
+        if (year == 0) {
+            buffer.append("Unknown");
+        } else {
+            buffer.append(year);
+        }
+    }
+
+    /**
+     * Appends a number without boxing it into a string, or null.
+     */
+    private void number(Long value) {
+        if (value == null) {
+            buffer.append("null");
+        } else {
+            buffer.append(value.longValue());
+        }
+    }
+
+    private void csvNumber(Long value) {
+        if (value != null) {
+            buffer.append(value.longValue());
+        }
+    }
+
+    /**
+     * Appends a CSV field, quoted only when it holds a separator, a quote or
+     * a line break.
+     */
+    private void csv(String value) {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            buffer.append(value);
+            return;
+        }
+        buffer.append('"');
+        csvQuoted(value);
+        buffer.append('"');
+    }
+
+    /**
+     * Appends a list as one CSV field with its values joined by "; ".
+     */
+    private void csv(List<String> values) {
+        boolean quoted = false;
+        for (int i = 0; i < values.size() && !quoted; i++) {
+            quoted = needsQuotes(values.get(i));
+        }
+        if (!quoted) {
+            join(values, "; ");
+            return;
+        }
+        buffer.append('"');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                buffer.append("; ");
+            }
+            csvQuoted(values.get(i));
+        }
+        buffer.append('"');
+    }
+
+    private void csvQuoted(String value) {
+        int start = 0;
+        for (int i = value.indexOf('"'); i >= 0; i = value.indexOf('"', i + 1)) {
+            buffer.append(value, start, i + 1).append('"');
+            start = i + 1;
+        }
+        buffer.append(value, start, value.length());
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void json(List<String> values) {
+        buffer.append('[');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            json(values.get(i));
+        }
+        buffer.append(']');
+    }
+
+    /**
+     * Appends a JSON string, escaping quotes, backslashes and control
+     * characters and copying the rest as is.
+     */
+    private void json(String value) {
+        if (value == null) {
+            buffer.append("null");
+            return;
+        }
+        buffer.append('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '"' && c != '\\' && c >= 0x20) {
+                continue;
+            }
+            buffer.append(value, start, i);
+            switch (c) {
+                case '"' -> buffer.append("\\\"");
+                case '\\' -> buffer.append("\\\\");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                case '\t' -> buffer.append("\\t");
+                default -> buffer.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            }
+            start = i + 1;
+        }
+        buffer.append(value, start, value.length()).append('"');
+    }
+
+    private void drainFullBlocks() throws IOException {
+        if (buffer.length() >= BLOCK_CHARS) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        int length = buffer.length();
+        if (length == 0) {
+            return;
+        }
+        if (block.length < length) {
+            block = new char[length];
+        }
+        buffer.getChars(0, length, block, 0);
+        out.write(block, 0, length);
+        buffer.setLength(0);
+    }
+
+}
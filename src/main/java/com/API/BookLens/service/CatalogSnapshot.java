@@ -0,0 +1,619 @@
+package com.API.BookLens.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.API.BookLens.dto.AuthorResponseDTO;
+import com.API.BookLens.dto.AuthorRowDTO;
+import com.API.BookLens.dto.BookResponseDTO;
+import com.API.BookLens.dto.BookRowDTO;
+
+/**
+ * An immutable, column-oriented copy of the catalog for the aggregate
+ * queries of the menu.
+ *
+ * Each attribute is stored in its own primitive array indexed by row. The
+ * authors and languages of each book are flattened into shared arrays with
+ * per-book offsets, and languages are dictionary-encoded into one byte each. Authors alive in a
+ * year are found through an interval index: authors sorted by birth year,
+ * searched from the year minus the longest indexed lifespan. Authors with an
+ * implausible lifespan, usually an unknown year stored as 0, are kept apart
+ * and scanned so they cannot widen that window. The books of each author,
+ * the books of each language and the most downloaded books are precomputed.
+ *
+ * A snapshot can be saved to a file and loaded back without a database. The
+ * file holds the columns one after the other, each as a count followed by its
+ * values, compressed with GZIP; the indexes are rebuilt on load.
+ */
+public final class CatalogSnapshot {
+
+    /** Number of most downloaded books that are precomputed. */
+    public static final int TOP_K = 100;
+
+    private static final int MAX_INDEXED_LIFESPAN = 130;
+
+    private static final int FILE_MAGIC = 0x424C534E;
+    private static final int FILE_VERSION = 1;
+    private static final int FILE_BUFFER_BYTES = 64 * 1024;
+
+    private final Instant builtAt;
+
+    private final long[] authorIds;
+    private final String[] authorNames;
+    private final int[] birthYears;
+    private final int[] deathYears;
+    private final int[] authorBookOffsets;
+    private final int[] authorBooks;
+
+    private final long[] bookIds;
+    private final String[] titles;
+    private final int[] bookAuthorOffsets;
+    private final int[] bookAuthors;
+    private final int[] bookLanguageOffsets;
+    private final byte[] bookLanguages;
+    private final long[] downloads;
+    private final String[] languageDictionary;
+
+    private final int[] authorsByBirth;
+    private final int[] sortedBirthYears;
+    private final int maxLifespan;
+    private final int[] unindexedAuthors;
+    private final int[][] booksByLanguage;
+    private final int[] mostDownloaded;
+
+    private CatalogSnapshot(Builder builder, Instant builtAt) {
+        this.builtAt = builtAt;
+        int authorCount = builder.authorCount;
+        int bookCount = builder.bookCount;
+        authorIds = Arrays.copyOf(builder.authorIds, authorCount);
+        authorNames = Arrays.copyOf(builder.authorNames, authorCount);
+        birthYears = Arrays.copyOf(builder.birthYears, authorCount);
+        deathYears = Arrays.copyOf(builder.deathYears, authorCount);
+
+        bookIds = Arrays.copyOf(builder.bookIds, bookCount);
+        titles = Arrays.copyOf(builder.titles, bookCount);
+        downloads = Arrays.copyOf(builder.downloads, bookCount);
+        bookLanguageOffsets = Arrays.copyOf(builder.bookLanguageOffsets, bookCount + 1);
+        bookLanguages = Arrays.copyOf(builder.bookLanguages, bookLanguageOffsets[bookCount]);
+        languageDictionary = builder.languageCodes.toArray(String[]::new);
+
+        Map<Long, Integer> authorRows = new HashMap<>(authorCount * 2);
+        for (int row = 0; row < authorCount; row++) {
+            authorRows.put(authorIds[row], row);
+        }
+        int credits = builder.bookAuthorOffsets[bookCount];
+        bookAuthorOffsets = new int[bookCount + 1];
+        authorBookOffsets = new int[authorCount + 1];
+        int[] creditedAuthors = new int[credits];
+        int kept = 0;
+        for (int row = 0; row < bookCount; row++) {
+            for (int i = builder.bookAuthorOffsets[row]; i < builder.bookAuthorOffsets[row + 1]; i++) {
+                Integer author = authorRows.get(builder.bookAuthorIds[i]);
+                if (author != null) {
+                    creditedAuthors[kept++] = author;
+                    authorBookOffsets[author + 1]++;
+                }
+            }
+            bookAuthorOffsets[row + 1] = kept;
+        }
+        bookAuthors = Arrays.copyOf(creditedAuthors, kept);
+        for (int author = 0; author < authorCount; author++) {
+            authorBookOffsets[author + 1] += authorBookOffsets[author];
+        }
+        authorBooks = new int[authorBookOffsets[authorCount]];
+        int[] next = Arrays.copyOf(authorBookOffsets, authorCount);
+        for (int row = 0; row < bookCount; row++) {
+            for (int i = bookAuthorOffsets[row]; i < bookAuthorOffsets[row + 1]; i++) {
+                authorBooks[next[bookAuthors[i]]++] = row;
+            }
+        }
+
+        List<Integer> indexed = new ArrayList<>();
+        List<Integer> unindexed = new ArrayList<>();
+        int longest = 0;
+        for (int row = 0; row < authorCount; row++) {
+            int lifespan = deathYears[row] - birthYears[row];
+            if (lifespan >= 0 && lifespan <= MAX_INDEXED_LIFESPAN) {
+                indexed.add(row);
+                longest = Math.max(longest, lifespan);
+            } else {
+                unindexed.add(row);
+            }
+        }
+        authorsByBirth = indexed.stream().sorted(Comparator.comparingInt(row -> birthYears[row]))
+                .mapToInt(Integer::intValue).toArray();
+        sortedBirthYears = Arrays.stream(authorsByBirth).map(row -> birthYears[row]).toArray();
+        maxLifespan = longest;
+        unindexedAuthors = unindexed.stream().mapToInt(Integer::intValue).toArray();
+
+        int[] languageCounts = new int[languageDictionary.length];
+        for (byte language : bookLanguages) {
+            languageCounts[language & 0xFF]++;
+        }
+        booksByLanguage = new int[languageDictionary.length][];
+        for (int language = 0; language < languageDictionary.length; language++) {
+            booksByLanguage[language] = new int[languageCounts[language]];
+            languageCounts[language] = 0;
+        }
+        for (int row = 0; row < bookCount; row++) {
+            for (int i = bookLanguageOffsets[row]; i < bookLanguageOffsets[row + 1]; i++) {
+                int language = bookLanguages[i] & 0xFF;
+                booksByLanguage[language][languageCounts[language]++] = row;
+            }
+        }
+
+        mostDownloaded = topByDownloads(downloads, TOP_K);
+    }
+
+    /**
+     * Selects the rows with the most downloads in one pass, keeping the
+     * current top rows sorted by insertion.
+     */
+    private static int[] topByDownloads(long[] downloads, int k) {
+        int[] top = new int[Math.min(k, downloads.length)];
+        int size = 0;
+        for (int row = 0; row < downloads.length; row++) {
+            if (size == top.length && downloads[row] <= downloads[top[size - 1]]) {
+                continue;
+            }
+            int position = size < top.length ? size++ : size - 1;
+            while (position > 0 && downloads[top[position - 1]] < downloads[row]) {
+                top[position] = top[position - 1];
+                position--;
+            }
+            top[position] = row;
+        }
+        return top;
+    }
+
+    /**
+     * Finds the authors who were alive during the given year, that is, born no
+     * later and dead no earlier than it.
+     *
+     * @param year the year to check
+     * @return the authors alive during the year, with the titles of their
+     *         books, in birth year order followed by those with implausible
+     *         lifespans
+     */
+    public List<AuthorResponseDTO> aliveInYear(int year) {
+        List<AuthorResponseDTO> alive = new ArrayList<>();
+        int from = firstBornInOrAfter(year - maxLifespan);
+        for (int i = from; i < authorsByBirth.length && sortedBirthYears[i] <= year; i++) {
+            int row = authorsByBirth[i];
+            if (deathYears[row] >= year) {
+                alive.add(author(row));
+            }
+        }
+        for (int row : unindexedAuthors) {
+            if (birthYears[row] <= year && deathYears[row] >= year) {
+                alive.add(author(row));
+            }
+        }
+        return alive;
+    }
+
+    /**
+     * Finds the books in the given language.
+     *
+     * @param language the language code
+     * @return the books in the language, in id order
+     */
+    public List<BookResponseDTO> byLanguage(String language) {
+        int code = Arrays.asList(languageDictionary).indexOf(language);
+        if (code < 0) {
+            return List.of();
+        }
+        return Arrays.stream(booksByLanguage[code]).mapToObj(this::book).toList();
+    }
+
+    /**
+     * Returns the most downloaded books.
+     *
+     * @param limit the number of books, at most {@link #TOP_K}
+     * @return the books with the most downloads first
+     */
+    public List<BookResponseDTO> mostDownloaded(int limit) {
+        return Arrays.stream(mostDownloaded).limit(limit).mapToObj(this::book).toList();
+    }
+
+    /**
+     * Saves the snapshot to a file. It is written next to the file first and
+     * moved over it, so readers never see a partial snapshot, unless the file
+     * system cannot move atomically, when it is moved over it the plain way.
+     *
+     * @param file the file to write
+     * @return the size of the file in bytes
+     * @throws IOException if the file cannot be written
+     */
+    public long save(Path file) throws IOException {
+        Path absolute = file.toAbsolutePath();
+        if (absolute.getParent() != null) {
+            Files.createDirectories(absolute.getParent());
+        }
+        Path partial = absolute.resolveSibling(absolute.getFileName() + ".partial");
+        try (OutputStream out = Files.newOutputStream(partial)) {
+            writeTo(out);
+        }
+        try {
+            Files.move(partial, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(partial, absolute, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return Files.size(absolute);
+    }
+
+    /**
+     * Loads a snapshot saved with {@link #save(Path)}.
+     *
+     * @param file the file to read
+     * @return the snapshot, with the build time it was saved with
+     * @throws IOException if the file cannot be read or is not a snapshot
+     */
+    public static CatalogSnapshot load(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return readFrom(in);
+        }
+    }
+
+    /**
+     * Writes the compressed columns of the snapshot. The stream is finished
+     * but not closed.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(out, FILE_BUFFER_BYTES);
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(gzip, FILE_BUFFER_BYTES));
+        data.writeInt(FILE_MAGIC);
+        data.writeInt(FILE_VERSION);
+        data.writeLong(builtAt.toEpochMilli());
+
+        writeLongs(data, authorIds);
+        writeStrings(data, authorNames);
+        writeInts(data, birthYears);
+        writeInts(data, deathYears);
+
+        writeStrings(data, languageDictionary);
+        writeLongs(data, bookIds);
+        writeStrings(data, titles);
+        writeLongs(data, downloads);
+        writeInts(data, bookAuthorOffsets);
+        writeInts(data, bookAuthors);
+        writeInts(data, bookLanguageOffsets);
+        data.writeInt(bookLanguages.length);
+        data.write(bookLanguages);
+        data.flush();
+        gzip.finish();
+    }
+
+    /**
+     * Reads a snapshot written with {@link #writeTo(OutputStream)}.
+     *
+     * @param in the stream to read from, left open
+     * @return the snapshot, with the build time it was written with
+     * @throws IOException if the stream cannot be read or is not a snapshot
+     */
+    public static CatalogSnapshot readFrom(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(in, FILE_BUFFER_BYTES), FILE_BUFFER_BYTES));
+        if (data.readInt() != FILE_MAGIC) {
+            throw new IOException("Not a catalog snapshot file.");
+        }
+        int version = data.readInt();
+        if (version != FILE_VERSION) {
+            throw new IOException("Unsupported catalog snapshot version " + version + ".");
+        }
+        Instant builtAt = Instant.ofEpochMilli(data.readLong());
+
+        Builder builder = new Builder();
+        builder.authorIds = readLongs(data);
+        builder.authorCount = builder.authorIds.length;
+        builder.authorNames = readStrings(data);
+        builder.birthYears = readInts(data);
+        builder.deathYears = readInts(data);
+
+        for (String language : readStrings(data)) {
+            builder.languageCode(language);
+        }
+        builder.bookIds = readLongs(data);
+        builder.bookCount = builder.bookIds.length;
+        builder.titles = readStrings(data);
+        builder.downloads = readLongs(data);
+        builder.bookAuthorOffsets = readInts(data);
+        int[] bookAuthors = readInts(data);
+        builder.bookAuthorIds = new long[bookAuthors.length];
+        for (int i = 0; i < bookAuthors.length; i++) {
+            builder.bookAuthorIds[i] = builder.authorIds[bookAuthors[i]];
+        }
+        builder.bookLanguageOffsets = readInts(data);
+        builder.bookLanguages = new byte[readLength(data)];
+        data.readFully(builder.bookLanguages);
+
+        if (builder.authorNames.length != builder.authorCount || builder.titles.length != builder.bookCount
+                || builder.bookAuthorOffsets.length != builder.bookCount + 1
+                || builder.bookLanguageOffsets.length != builder.bookCount + 1) {
+            throw new IOException("Catalog snapshot file has columns of different lengths.");
+        }
+        return new CatalogSnapshot(builder, builtAt);
+    }
+
+    private static void writeLongs(DataOutputStream data, long[] values) throws IOException {
+        data.writeInt(values.length);
+        for (long value : values) {
+            data.writeLong(value);
+        }
+    }
+
+    private static void writeInts(DataOutputStream data, int[] values) throws IOException {
+        data.writeInt(values.length);
+        for (int value : values) {
+            data.writeInt(value);
+        }
+    }
+
+    private static void writeStrings(DataOutputStream data, String[] values) throws IOException {
+        data.writeInt(values.length);
+        for (String value : values) {
+            if (value == null) {
+                data.writeInt(-1);
+            } else {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                data.writeInt(bytes.length);
+                data.write(bytes);
+            }
+        }
+    }
+
+    private static long[] readLongs(DataInputStream data) throws IOException {
+        long[] values = new long[readLength(data)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = data.readLong();
+        }
+        return values;
+    }
+
+    private static int[] readInts(DataInputStream data) throws IOException {
+        int[] values = new int[readLength(data)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = data.readInt();
+        }
+        return values;
+    }
+
+    private static String[] readStrings(DataInputStream data) throws IOException {
+        String[] values = new String[readLength(data)];
+        for (int i = 0; i < values.length; i++) {
+            int length = data.readInt();
+            if (length >= 0) {
+                byte[] bytes = new byte[length];
+                data.readFully(bytes);
+                values[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+        return values;
+    }
+
+    private static int readLength(DataInputStream data) throws IOException {
+        int length = data.readInt();
+        if (length < 0) {
+            throw new IOException("Catalog snapshot file has a negative column length.");
+        }
+        return length;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    public int getAuthorCount() {
+        return authorIds.length;
+    }
+
+    public int getBookCount() {
+        return bookIds.length;
+    }
+
+    /**
+     * Returns the language codes of the books, in the order first seen.
+     *
+     * @return the language codes
+     */
+    public List<String> getLanguages() {
+        return List.of(languageDictionary);
+    }
+
+    /**
+     * Estimates the heap used by the snapshot, assuming compressed references
+     * and Latin-1 strings.
+     *
+     * @return the approximate size in bytes
+     */
+    public long footprintBytes() {
+        long bytes = 0;
+        bytes += longArray(authorIds.length) + referenceArray(authorNames.length) + strings(authorNames);
+        bytes += intArray(birthYears.length) * 2 + intArray(authorBookOffsets.length) + intArray(authorBooks.length);
+        bytes += longArray(bookIds.length) + referenceArray(titles.length) + strings(titles);
+        bytes += intArray(bookAuthorOffsets.length) + intArray(bookAuthors.length);
+        bytes += intArray(bookLanguageOffsets.length) + array(bookLanguages.length) + longArray(downloads.length);
+        bytes += intArray(authorsByBirth.length) * 2 + intArray(unindexedAuthors.length);
+        for (int[] books : booksByLanguage) {
+            bytes += intArray(books.length);
+        }
+        return bytes + intArray(mostDownloaded.length);
+    }
+
+    private int firstBornInOrAfter(int year) {
+        int low = 0;
+        int high = sortedBirthYears.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedBirthYears[middle] < year) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private AuthorResponseDTO author(int row) {
+        List<String> books = new ArrayList<>(authorBookOffsets[row + 1] - authorBookOffsets[row]);
+        for (int i = authorBookOffsets[row]; i < authorBookOffsets[row + 1]; i++) {
+            books.add(titles[authorBooks[i]]);
+        }
+        return new AuthorResponseDTO(authorIds[row], authorNames[row], birthYears[row], deathYears[row], books);
+    }
+
+    private BookResponseDTO book(int row) {
+        List<String> authors = new ArrayList<>(bookAuthorOffsets[row + 1] - bookAuthorOffsets[row]);
+        for (int i = bookAuthorOffsets[row]; i < bookAuthorOffsets[row + 1]; i++) {
+            authors.add(authorNames[bookAuthors[i]]);
+        }
+        List<String> languages = new ArrayList<>(bookLanguageOffsets[row + 1] - bookLanguageOffsets[row]);
+        for (int i = bookLanguageOffsets[row]; i < bookLanguageOffsets[row + 1]; i++) {
+            languages.add(languageDictionary[bookLanguages[i] & 0xFF]);
+        }
+        return new BookResponseDTO(bookIds[row], titles[row], authors, languages, downloads[row]);
+    }
+
+    private static long array(long payload) {
+        return (16 + payload + 7) & ~7L;
+    }
+
+    private static long intArray(int length) {
+        return array(4L * length);
+    }
+
+    private static long longArray(int length) {
+        return array(8L * length);
+    }
+
+    private static long referenceArray(int length) {
+        return array(4L * length);
+    }
+
+    private static long strings(String[] values) {
+        long bytes = 0;
+        for (String value : values) {
+            bytes += value == null ? 0 : 24 + array(value.length());
+        }
+        return bytes;
+    }
+
+    /**
+     * Collects rows into growable columns.
+     */
+    public static final class Builder {
+
+        private int authorCount;
+        private long[] authorIds = new long[1024];
+        private String[] authorNames = new String[1024];
+        private int[] birthYears = new int[1024];
+        private int[] deathYears = new int[1024];
+
+        private int bookCount;
+        private long[] bookIds = new long[1024];
+        private String[] titles = new String[1024];
+        private long[] downloads = new long[1024];
+        private int[] bookAuthorOffsets = new int[1025];
+        private long[] bookAuthorIds = new long[1024];
+        private int[] bookLanguageOffsets = new int[1025];
+        private byte[] bookLanguages = new byte[1024];
+        private final List<String> languageCodes = new ArrayList<>();
+        private final Map<String, Byte> languageIndex = new HashMap<>();
+
+        public Builder addAuthor(AuthorRowDTO author) {
+            if (authorCount == authorIds.length) {
+                int capacity = authorCount * 2;
+                authorIds = Arrays.copyOf(authorIds, capacity);
+                authorNames = Arrays.copyOf(authorNames, capacity);
+                birthYears = Arrays.copyOf(birthYears, capacity);
+                deathYears = Arrays.copyOf(deathYears, capacity);
+            }
+            authorIds[authorCount] = author.id();
+            authorNames[authorCount] = author.name();
+            birthYears[authorCount] = author.dateOfBirthYear();
+            deathYears[authorCount] = author.dateOfDeathYear();
+            authorCount++;
+            return this;
+        }
+
+        /**
+         * Adds a book row.
+         *
+         * @throws IllegalStateException if the book has a 257th distinct
+         *                               language, which one byte cannot encode
+         */
+        public Builder addBook(BookRowDTO book) {
+            if (bookCount == bookIds.length) {
+                int capacity = bookCount * 2;
+                bookIds = Arrays.copyOf(bookIds, capacity);
+                titles = Arrays.copyOf(titles, capacity);
+                downloads = Arrays.copyOf(downloads, capacity);
+                bookAuthorOffsets = Arrays.copyOf(bookAuthorOffsets, capacity + 1);
+                bookLanguageOffsets = Arrays.copyOf(bookLanguageOffsets, capacity + 1);
+            }
+            bookIds[bookCount] = book.id();
+            titles[bookCount] = book.title();
+            downloads[bookCount] = book.numberOfDownloads() == null ? 0 : book.numberOfDownloads();
+
+            int credits = bookAuthorOffsets[bookCount];
+            if (credits + book.authorIds().size() > bookAuthorIds.length) {
+                bookAuthorIds = Arrays.copyOf(bookAuthorIds, Math.max(bookAuthorIds.length * 2,
+                        credits + book.authorIds().size()));
+            }
+            for (Long authorId : book.authorIds()) {
+                bookAuthorIds[credits++] = authorId;
+            }
+            bookAuthorOffsets[bookCount + 1] = credits;
+
+            int languages = bookLanguageOffsets[bookCount];
+            if (languages + book.languages().size() > bookLanguages.length) {
+                bookLanguages = Arrays.copyOf(bookLanguages, Math.max(bookLanguages.length * 2,
+                        languages + book.languages().size()));
+            }
+            for (String language : book.languages()) {
+                bookLanguages[languages++] = languageCode(language);
+            }
+            bookLanguageOffsets[bookCount + 1] = languages;
+            bookCount++;
+            return this;
+        }
+
+        public CatalogSnapshot build() {
+            return new CatalogSnapshot(this, Instant.now());
+        }
+
+        private byte languageCode(String language) {
+            return languageIndex.computeIfAbsent(language, code -> {
+                if (languageCodes.size() == 256) {
+                    throw new IllegalStateException("More than 256 languages cannot be encoded in one byte");
+                }
+                languageCodes.add(code);
+                return (byte) (languageCodes.size() - 1);
+            });
+        }
+
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.API.BookLens.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.API.BookLens.dto.BookAuthorRowDTO;
+import com.API.BookLens.dto.BookCoreRowDTO;
+import com.API.BookLens.dto.BookLanguageRowDTO;
+import com.API.BookLens.dto.BookRowDTO;
+import com.API.BookLens.repository.BookRepository;
+
+/**
+ * Walks whole tables in constant memory, for exports and other full scans.
+ */
+@Service
+public class CatalogStreamer {
+
+    private final BookRepository bookRepository;
+
+    public CatalogStreamer(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    /**
+     * Hands every book, with its authors and languages, to the given action in
+     * id order. The books, their author credits and their languages are read
+     * through three cursors sorted by book id and merged as they are read, so
+     * the whole scan costs three queries and holds one book at a time.
+     *
+     * @param action the action to perform for each book
+     * @return the number of books visited
+     */
+    @Transactional(readOnly = true)
+    public long forEachBook(Consumer<BookRowDTO> action) {
+        long visited = 0;
+        try (Stream<BookCoreRowDTO> books = bookRepository.streamCoreRows();
+                Stream<BookAuthorRowDTO> credits = bookRepository.streamAuthorRows();
+                Stream<BookLanguageRowDTO> languages = bookRepository.streamLanguageRows()) {
+            Cursor<BookAuthorRowDTO> creditRows = new Cursor<>(credits.iterator());
+            Cursor<BookLanguageRowDTO> languageRows = new Cursor<>(languages.iterator());
+            for (Iterator<BookCoreRowDTO> iterator = books.iterator(); iterator.hasNext();) {
+                BookCoreRowDTO book = iterator.next();
+                List<Long> authorIds = new ArrayList<>(1);
+                List<String> authorNames = new ArrayList<>(1);
+                while (creditRows.skipTo(book.id(), BookAuthorRowDTO::bookId)) {
+                    BookAuthorRowDTO credit = creditRows.take();
+                    authorIds.add(credit.authorId());
+                    authorNames.add(credit.authorName());
+                }
+                List<String> codes = new ArrayList<>(1);
+                while (languageRows.skipTo(book.id(), BookLanguageRowDTO::bookId)) {
+                    codes.add(languageRows.take().language());
+                }
+                action.accept(new BookRowDTO(book.id(), book.title(), authorIds, authorNames, codes,
+                        book.numberOfDownloads()));
+                visited++;
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * One side of the merge: a cursor sorted by book id with one row of look
+     * ahead.
+     */
+    private static final class Cursor<T> {
+        private final Iterator<T> rows;
+        private T head;
+
+        private Cursor(Iterator<T> rows) {
+            this.rows = rows;
+            this.head = rows.hasNext() ? rows.next() : null;
+        }
+
+        /**
+         * Drops rows of books before the given one, which belong to books
+         * written or deleted between the three queries.
+         *
+         * @return whether the next row belongs to the given book
+         */
+        private boolean skipTo(long bookId, ToLongFunction<T> bookIdOf) {
+            while (head != null && bookIdOf.applyAsLong(head) < bookId) {
+                take();
+            }
+            return head != null && bookIdOf.applyAsLong(head) == bookId;
+        }
+
+        private T take() {
+            T taken = head;
+            head = rows.hasNext() ? rows.next() : null;
+            return taken;
+        }
+    }
+
+}
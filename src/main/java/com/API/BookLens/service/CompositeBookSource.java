@@ -0,0 +1,120 @@
+package com.API.BookLens.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import com.API.BookLens.dto.BookResultDTO;
+
+/**
+ * Tries several sources in turn. A search moves on to the next source when
+ * one fails or finds nothing; a lookup by id asks the next source only for the
+ * ids the previous ones did not return. This is the source injected wherever
+ * a {@link BookSource} is needed: the mirror, when one is configured, then
+ * Gutendex.
+ */
+@Primary
+@Service
+public class CompositeBookSource implements BookSource {
+
+    private final List<BookSource> sources;
+
+    /**
+     * Constructs the source from the mirror, when enabled, and Gutendex.
+     *
+     * @param mirror   the local mirror, asked first
+     * @param gutendex the Gutendex API, asked last
+     */
+    @Autowired
+    public CompositeBookSource(MirrorBookSource mirror, GutendexBookSource gutendex) {
+        this(mirror.isEnabled() ? List.of(mirror, gutendex) : List.of(gutendex));
+    }
+
+    /**
+     * Constructs the source.
+     *
+     * @param sources the sources in the order they are tried
+     */
+    public CompositeBookSource(List<BookSource> sources) {
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("At least one source is required.");
+        }
+        this.sources = List.copyOf(sources);
+    }
+
+    @Override
+    public String name() {
+        return sources.stream().map(BookSource::name).collect(Collectors.joining(",", "composite(", ")"));
+    }
+
+    @Override
+    public CompletableFuture<List<BookResultDTO>> search(String query) {
+        return searchFrom(0, query);
+    }
+
+    private CompletableFuture<List<BookResultDTO>> searchFrom(int index, String query) {
+        BookSource source = sources.get(index);
+        boolean last = index == sources.size() - 1;
+        return source.search(query).handle((results, error) -> {
+            if (error == null && (!results.isEmpty() || last)) {
+                return CompletableFuture.completedFuture(results);
+            }
+            if (last) {
+                return CompletableFuture.<List<BookResultDTO>>failedFuture(unwrap(error));
+            }
+            if (error != null) {
+                reportFallback(source, unwrap(error));
+            }
+            return searchFrom(index + 1, query);
+        }).thenCompose(Function.identity());
+    }
+
+    @Override
+    public CompletableFuture<List<BookResultDTO>> fetchByIds(Collection<Integer> ids) {
+        return fetchFrom(0, List.copyOf(ids), new ArrayList<>());
+    }
+
+    private CompletableFuture<List<BookResultDTO>> fetchFrom(int index, List<Integer> missing,
+            List<BookResultDTO> found) {
+        if (missing.isEmpty() || index == sources.size()) {
+            return CompletableFuture.completedFuture(found);
+        }
+        BookSource source = sources.get(index);
+        boolean last = index == sources.size() - 1;
+        return source.fetchByIds(missing).handle((results, error) -> {
+            if (error != null) {
+                if (last && found.isEmpty()) {
+                    return CompletableFuture.<List<BookResultDTO>>failedFuture(unwrap(error));
+                }
+                reportFallback(source, unwrap(error));
+                return fetchFrom(index + 1, missing, found);
+            }
+            Set<Integer> returned = new HashSet<>();
+            for (BookResultDTO result : results) {
+                found.add(result);
+                returned.add(result.id());
+            }
+            List<Integer> stillMissing = missing.stream().filter(id -> !returned.contains(id)).toList();
+            return fetchFrom(index + 1, stillMissing, found);
+        }).thenCompose(Function.identity());
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static void reportFallback(BookSource source, Throwable error) {
+        System.out.println("Book source " + source.name() + " failed, trying the next one: " + error.getMessage());
+    }
+
+}
@@ -0,0 +1,361 @@
+package com.API.BookLens.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.API.BookLens.dto.BookResultDTO;
+import com.API.BookLens.dto.DownloadCountDTO;
+import com.API.BookLens.model.RefreshCheckpoint;
+import com.API.BookLens.repository.BookRepository;
+import com.API.BookLens.repository.RefreshCheckpointRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps the stored download counts current with Gutendex.
+ *
+ * Each pass walks the books with a known Gutendex id in id order, in batches
+ * that are fetched with a single {@code ids=} request. The batches go through
+ * a bounded queue to a small pool of workers whose requests are spaced by a
+ * rate limiter. A worker compares the upstream counts with the stored ones
+ * and updates only the books whose count changed, in one JDBC batch, and in
+ * the search index so searches rank them by the new counts. The
+ * last book of the longest run of finished batches is saved as a checkpoint,
+ * so a pass stopped by a failure or a restart resumes after it. A pass that
+ * reaches the end resets the checkpoint, whose update time then records when
+ * the pass completed. After a restart the first pass waits for what is left
+ * of the interval since then, so restarts do not walk the catalog again.
+ */
+@Service
+public class DownloadCountRefresher {
+
+    static final String CHECKPOINT = "download-counts";
+
+    private static final String UPDATE = "UPDATE books SET number_of_downloads = ? WHERE id = ?";
+    private static final Batch END = new Batch(-1, List.of());
+
+    private final BookRepository bookRepository;
+    private final RefreshCheckpointRepository checkpointRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Duration interval;
+    private final GutendexBookSource gutendex;
+    private final SearchIndex searchIndex;
+    private final int batchSize;
+    private final int concurrency;
+    private final RateLimiter rateLimiter;
+    private final ScheduledExecutorService timer;
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /**
+     * Constructs the refresher.
+     *
+     * @param bookRepository       the repository for book data
+     * @param checkpointRepository the repository the checkpoint is kept in
+     * @param jdbcTemplate         the template the updates are batched with
+     * @param gutendex             the source the counts are read from; the
+     *                             mirror is never asked, as its counts are as
+     *                             old as its dump
+     * @param searchIndex          the index the changed counts are passed on
+     *                             to
+     * @param enabled              whether passes are scheduled at startup
+     * @param interval             the time between the end of one pass and
+     *                             the start of the next
+     * @param batchSize            number of books requested at a time
+     * @param concurrency          number of batches fetched at the same time
+     * @param requestsPerSecond    maximum rate of requests to Gutendex
+     */
+    public DownloadCountRefresher(BookRepository bookRepository, RefreshCheckpointRepository checkpointRepository,
+            JdbcTemplate jdbcTemplate, GutendexBookSource gutendex, SearchIndex searchIndex,
+            @Value("${booklens.refresh.enabled:true}") boolean enabled,
+            @Value("${booklens.refresh.interval:PT6H}") Duration interval,
+            @Value("${booklens.refresh.batch-size:32}") int batchSize,
+            @Value("${booklens.refresh.concurrency:2}") int concurrency,
+            @Value("${booklens.refresh.requests-per-second:2}") double requestsPerSecond) {
+        if (concurrency < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Concurrency and batch size must be positive.");
+        }
+        this.bookRepository = bookRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.interval = interval;
+        this.gutendex = gutendex;
+        this.searchIndex = searchIndex;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.rateLimiter = new RateLimiter(requestsPerSecond);
+        this.timer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "download-count-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Schedules the passes in the background once the context is ready. The
+     * first one resumes an interrupted pass right away, and otherwise waits
+     * until the interval has passed since the last pass completed.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void start() {
+        if (enabled && started.compareAndSet(false, true)) {
+            timer.execute(this::schedule);
+        }
+    }
+
+    private void schedule() {
+        Duration delay = Duration.ZERO;
+        try {
+            delay = untilNextPass(Instant.now());
+        } catch (RuntimeException e) {
+            System.out.println("Download count checkpoint unreadable, refreshing now: " + e.getMessage());
+        }
+        timer.scheduleWithFixedDelay(this::refreshQuietly, delay.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns how long the first pass waits: nothing if no pass ran yet or
+     * the last one stopped early, and otherwise what is left of the interval
+     * since the last pass completed.
+     *
+     * @param now the current time
+     * @return the time to wait, never negative
+     */
+    Duration untilNextPass(Instant now) {
+        return checkpointRepository.findById(CHECKPOINT)
+                .filter(checkpoint -> checkpoint.getLastBookId() == 0 && checkpoint.getUpdatedAt() != null)
+                .map(checkpoint -> Duration.between(now, checkpoint.getUpdatedAt().plus(interval)))
+                .filter(delay -> !delay.isNegative())
+                .orElse(Duration.ZERO);
+    }
+
+    /**
+     * Runs a pass on the calling thread, starting after the checkpoint.
+     *
+     * @return a report of the books checked and updated and whether the pass
+     *         reached the end
+     * @throws InterruptedException if interrupted while waiting for the
+     *                              workers
+     */
+    public synchronized RefreshReport refresh() throws InterruptedException {
+        long start = System.nanoTime();
+        long resumeAfter = checkpointRepository.findById(CHECKPOINT).map(RefreshCheckpoint::getLastBookId).orElse(0L);
+        Progress progress = new Progress(resumeAfter);
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(concurrency * 2);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency, new WorkerThreadFactory());
+        try {
+            for (int i = 0; i < concurrency; i++) {
+                workers.execute(() -> work(queue, progress));
+            }
+            long after = resumeAfter;
+            int sequence = 0;
+            while (!progress.failed()) {
+                List<DownloadCountDTO> rows = bookRepository.findDownloadCountsAfter(after, Limit.of(batchSize));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                queue.put(new Batch(sequence++, rows));
+                after = rows.get(rows.size() - 1).id();
+            }
+            for (int i = 0; i < concurrency; i++) {
+                queue.put(END);
+            }
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } finally {
+            workers.shutdownNow();
+        }
+
+        boolean completed = !progress.failed();
+        if (completed) {
+            saveCheckpoint(0);
+        }
+        RefreshReport report = progress.report(completed, Duration.ofNanos(System.nanoTime() - start));
+        System.out.println("Download count refresh: " + report);
+        return report;
+    }
+
+    /**
+     * Takes batches until the end marker, skipping them once a batch has
+     * failed so the producer is never left blocked on a full queue.
+     */
+    private void work(BlockingQueue<Batch> queue, Progress progress) {
+        try {
+            for (Batch batch = queue.take(); batch != END; batch = queue.take()) {
+                if (progress.failed()) {
+                    continue;
+                }
+                try {
+                    progress.complete(batch, refreshBatch(batch.rows()));
+                } catch (IOException | RuntimeException e) {
+                    progress.fail(batch, e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Fetches the upstream counts of a batch and updates the ones that
+     * changed.
+     *
+     * @return the number of books updated
+     */
+    private int refreshBatch(List<DownloadCountDTO> rows) throws IOException, InterruptedException {
+        rateLimiter.acquire();
+        Map<Long, Integer> upstream = new HashMap<>();
+        List<Integer> ids = rows.stream().map(row -> row.gutendexId().intValue()).toList();
+        for (BookResultDTO result : ApiClient.await(gutendex.fetchByIds(ids))) {
+            if (result.id() != null) {
+                upstream.put(result.id().longValue(), result.download_count());
+            }
+        }
+
+        List<long[]> changed = new ArrayList<>();
+        Map<Long, Long> downloads = new HashMap<>();
+        for (DownloadCountDTO row : rows) {
+            Integer count = upstream.get(row.gutendexId());
+            if (count != null && !Long.valueOf(count).equals(row.numberOfDownloads())) {
+                changed.add(new long[] { count, row.id() });
+                downloads.put(row.id(), (long) count);
+            }
+        }
+        if (!changed.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE, changed, changed.size(), (statement, change) -> {
+                statement.setLong(1, change[0]);
+                statement.setLong(2, change[1]);
+            });
+            searchIndex.updateDownloads(downloads);
+        }
+        return changed.size();
+    }
+
+    private void saveCheckpoint(long lastBookId) {
+        checkpointRepository.save(new RefreshCheckpoint(CHECKPOINT, lastBookId, Instant.now()));
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            System.out.println("Download count refresh failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        timer.shutdownNow();
+    }
+
+    /**
+     * Summary of a refresh pass.
+     *
+     * @param batches   number of batches fetched and compared
+     * @param checked   number of books compared with Gutendex
+     * @param updated   number of books whose count changed
+     * @param completed whether the pass reached the last book
+     * @param elapsed   wall-clock time of the pass
+     */
+    public record RefreshReport(int batches, long checked, long updated, boolean completed, Duration elapsed) {
+
+        @Override
+        public String toString() {
+            return String.format("%d batches, %d books checked, %d updated in %d ms%s",
+                    batches, checked, updated, elapsed.toMillis(), completed ? "" : " - stopped early");
+        }
+    }
+
+    private record Batch(int sequence, List<DownloadCountDTO> rows) {
+
+        long lastId() {
+            return rows.get(rows.size() - 1).id();
+        }
+    }
+
+    /**
+     * Tracks the batches of a pass. Batches finish out of order, so the
+     * checkpoint only moves over the ones finished without a gap before them.
+     */
+    private final class Progress {
+        private final TreeMap<Integer, Long> finished = new TreeMap<>();
+        private int nextSequence;
+        private long checkpoint;
+        private int batches;
+        private long checked;
+        private long updated;
+        private volatile boolean failed;
+
+        private Progress(long checkpoint) {
+            this.checkpoint = checkpoint;
+        }
+
+        private synchronized void complete(Batch batch, int changed) {
+            batches++;
+            checked += batch.rows().size();
+            updated += changed;
+            finished.put(batch.sequence(), batch.lastId());
+            long advanced = checkpoint;
+            for (Long lastId = finished.remove(nextSequence); lastId != null; lastId = finished.remove(nextSequence)) {
+                advanced = lastId;
+                nextSequence++;
+            }
+            if (advanced != checkpoint) {
+                checkpoint = advanced;
+                saveCheckpoint(advanced);
+            }
+        }
+
+        private void fail(Batch batch, Exception error) {
+            failed = true;
+            System.out.println("Download count refresh stopped at books " + batch.rows().get(0).id() + " to "
+                    + batch.lastId() + ": " + error.getMessage());
+        }
+
+        private boolean failed() {
+            return failed;
+        }
+
+        private synchronized RefreshReport report(boolean completed, Duration elapsed) {
+            return new RefreshReport(batches, checked, updated, completed, elapsed);
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "download-count-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
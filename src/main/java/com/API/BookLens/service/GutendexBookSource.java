@@ -0,0 +1,172 @@
+package com.API.BookLens.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.API.BookLens.dto.BookDTO;
+import com.API.BookLens.dto.BookResultDTO;
+import com.API.BookLens.dto.PageInfoDTO;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Reads books from the Gutendex API.
+ *
+ * Searches go through the response cache, so repeated searches are answered
+ * without a request. Identical searches running at the same time share one
+ * lookup and one parsed result list, so a burst of them sends at most one
+ * request. Searches run on as many threads as the client lets requests to
+ * one host run at the same time, and further distinct searches wait in line
+ * instead of each taking a thread. Lookups by id ask for all the ids in one {@code ids=}
+ * request, following {@code next} links when they span several pages, and
+ * are never cached so download counts stay current.
+ */
+@Service
+public class GutendexBookSource implements BookSource {
+
+    private final ApiClient client;
+    private final ResponseCache responseCache;
+    private final String baseUrl;
+    private final ExecutorService searches;
+    private final SingleFlight<String, List<BookResultDTO>> inFlightSearches = new SingleFlight<>("gutendex-search");
+
+    /**
+     * Constructs the source.
+     *
+     * @param client        the client requests are sent with
+     * @param responseCache the cache searches are answered from
+     * @param baseUrl       the Gutendex books address
+     */
+    public GutendexBookSource(ApiClient client, ResponseCache responseCache,
+            @Value("${booklens.gutendex.base-url:https://gutendex.com/books/}") String baseUrl) {
+        this.client = client;
+        this.responseCache = responseCache;
+        this.baseUrl = baseUrl;
+        AtomicInteger counter = new AtomicInteger();
+        this.searches = Executors.newFixedThreadPool(client.getMaxInFlightPerHost(), task -> {
+            Thread thread = new Thread(task, "gutendex-search-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public String name() {
+        return "gutendex";
+    }
+
+    @Override
+    public CompletableFuture<List<BookResultDTO>> search(String query) {
+        String address = listingAddress(query);
+        return inFlightSearches.run(ResponseCache.normalize(address), () -> CompletableFuture.supplyAsync(() -> {
+            try {
+                BookDTO page = parsePage(responseCache.get(address), address);
+                return page.results() == null ? List.of() : List.copyOf(page.results());
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }, searches));
+    }
+
+    /**
+     * Returns the single flight identical searches are coalesced through.
+     *
+     * @return the single flight of the searches
+     */
+    public SingleFlight<String, List<BookResultDTO>> getInFlightSearches() {
+        return inFlightSearches;
+    }
+
+    @Override
+    public CompletableFuture<List<BookResultDTO>> fetchByIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        String address = baseUrl + "?ids=" + ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return fetchPages(address, new ArrayList<>());
+    }
+
+    private CompletableFuture<List<BookResultDTO>> fetchPages(String address, List<BookResultDTO> fetched) {
+        return client.getAsync(address).thenCompose(json -> {
+            BookDTO page;
+            try {
+                page = parsePage(json, address);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+            if (page.results() != null) {
+                fetched.addAll(page.results());
+            }
+            return page.next() == null
+                    ? CompletableFuture.completedFuture(fetched)
+                    : fetchPages(page.next(), fetched);
+        });
+    }
+
+    /**
+     * Parses a listing page, failing on an empty body, for which the parser
+     * returns null.
+     */
+    private static BookDTO parsePage(String json, String address) throws IOException {
+        BookDTO page = JsonConverter.fromJson(json, BookDTO.class);
+        if (page == null) {
+            throw new IOException("Empty response from " + address + ".");
+        }
+        return page;
+    }
+
+    /**
+     * Streams one listing page, handing each result to the consumer as it is
+     * parsed.
+     *
+     * @param address  the address of the page
+     * @param consumer receives each result of the page in order
+     * @return the paging information of the listing
+     * @throws IOException          if the request fails after all retries or
+     *                              the response is not a listing
+     * @throws InterruptedException if interrupted while waiting for the
+     *                              response
+     */
+    public PageInfoDTO streamListing(String address, Consumer<BookResultDTO> consumer)
+            throws IOException, InterruptedException {
+        try (InputStream body = client.getStream(address)) {
+            return JsonConverter.streamResults(body, consumer);
+        }
+    }
+
+    /**
+     * Builds the address of the first listing page for a search.
+     *
+     * @param query the words to search for, or blank for the whole catalog
+     * @return the address of the listing
+     */
+    public String listingAddress(String query) {
+        return query == null || query.isBlank()
+                ? baseUrl
+                : baseUrl + "?search=" + URLEncoder.encode(query.trim(), StandardCharsets.UTF_8);
+    }
+
+    @PreDestroy
+    public void close() {
+        searches.shutdownNow();
+    }
+
+}
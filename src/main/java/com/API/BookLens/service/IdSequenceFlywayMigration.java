@@ -0,0 +1,48 @@
+package com.API.BookLens.service;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Version 2 of the schema for the prod profile: moves the id sequences past
+ * the highest stored id, as {@link LegacyColumnMigration} does at startup
+ * without the profile. Databases created before books and authors took their
+ * ids from sequences are baselined at version 1 with sequences starting at 1.
+ * Does nothing on a database the migrations created.
+ *
+ * Spring Boot hands Flyway every Java migration bean, whatever the database.
+ */
+@Component
+public class IdSequenceFlywayMigration implements JavaMigration {
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("2");
+    }
+
+    @Override
+    public String getDescription() {
+        return "seed id sequences";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        new LegacyColumnMigration(jdbcTemplate).seedIdSequences();
+    }
+
+}
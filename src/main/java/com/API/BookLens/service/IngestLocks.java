@@ -0,0 +1,90 @@
+package com.API.BookLens.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.API.BookLens.model.Author;
+import com.API.BookLens.model.Book;
+
+/**
+ * Serializes the writes of the same title or author name within the process,
+ * so checking whether a row exists and inserting it cannot interleave with
+ * another writer doing the same.
+ *
+ * Keys hash onto a fixed number of locks, so writers of unrelated keys rarely
+ * wait for each other. A writer locking several keys takes their locks in
+ * ascending order, so two writers can never deadlock.
+ */
+@Component
+public class IngestLocks {
+
+    private final ReentrantLock[] stripes;
+
+    /**
+     * Constructs the locks.
+     *
+     * @param stripes the number of locks the keys are spread over
+     */
+    public IngestLocks(@Value("${booklens.ingest.lock-stripes:256}") int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("There must be at least one lock stripe.");
+        }
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Runs an action while holding the locks of the titles of the given books
+     * and the names of their authors.
+     *
+     * @param books  the books about to be written
+     * @param action the check and write to run
+     * @return what the action returned
+     */
+    public <T> T withBooks(Collection<Book> books, Supplier<T> action) {
+        List<String> keys = new ArrayList<>();
+        for (Book book : books) {
+            keys.add("title:" + book.getTitle());
+            for (Author author : book.getAuthors()) {
+                keys.add("author:" + author.getName());
+            }
+        }
+        return withKeys(keys, action);
+    }
+
+    /**
+     * Runs an action while holding the locks of the given keys.
+     *
+     * @param keys   the keys to lock
+     * @param action the action to run
+     * @return what the action returned
+     */
+    public <T> T withKeys(Collection<String> keys, Supplier<T> action) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (String key : keys) {
+            indexes.add(Math.floorMod(key.hashCode(), stripes.length));
+        }
+        List<ReentrantLock> held = new ArrayList<>(indexes.size());
+        try {
+            for (int index : indexes) {
+                stripes[index].lock();
+                held.add(stripes[index]);
+            }
+            return action.get();
+        } finally {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+        }
+    }
+
+}
@@ -1,6 +1,21 @@
 package com.API.BookLens.service;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.API.BookLens.dto.AuthorDTO;
+import com.API.BookLens.dto.BookResultDTO;
+import com.API.BookLens.dto.PageInfoDTO;
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 /**
  * A utility class to handle JSON conversion.
@@ -19,7 +34,187 @@ public class JsonConverter {
      *         string.
      */
     public static <T> T fromJson(String json, Class<T> clazz) {
-        return gson.fromJson(json, clazz);
+        long start = System.nanoTime();
+        T value = gson.fromJson(json, clazz);
+        BookLensMetrics.jsonParsed("fromJson", utf8Length(json), System.nanoTime() - start);
+        return value;
+    }
+
+    /**
+     * Reads a Gutendex listing page from a stream, handing each result to the
+     * consumer as soon as it is parsed. Fields that BookResultDTO does not map,
+     * such as formats, subjects and bookshelves, are skipped without being
+     * materialized. The parse time recorded includes waiting for the stream
+     * and running the consumer, since parsing is interleaved with both.
+     *
+     * @param body     The stream containing the JSON listing page.
+     * @param consumer Receives each result in document order.
+     * @return The paging information of the listing.
+     * @throws IOException If the stream cannot be read or is not a listing.
+     */
+    public static PageInfoDTO streamResults(InputStream body, Consumer<BookResultDTO> consumer) throws IOException {
+        long start = System.nanoTime();
+        CountingInputStream counted = new CountingInputStream(body);
+        JsonReader reader = new JsonReader(new InputStreamReader(counted, StandardCharsets.UTF_8));
+        int count = 0;
+        String next = null;
+        String previous = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "count" -> count = reader.nextInt();
+                case "next" -> next = nextNullableString(reader);
+                case "previous" -> previous = nextNullableString(reader);
+                case "results" -> {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        consumer.accept(readResult(reader));
+                    }
+                    reader.endArray();
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        BookLensMetrics.jsonParsed("streamResults", counted.count, System.nanoTime() - start);
+        return new PageInfoDTO(count, next, previous);
+    }
+
+    /**
+     * Parses a single Gutendex result, such as one line of a mirror dump.
+     *
+     * @param json The JSON object of one result.
+     * @return The result, with unmapped fields skipped.
+     * @throws IOException If the text is not a result object.
+     */
+    public static BookResultDTO parseResult(String json) throws IOException {
+        return readResult(new JsonReader(new StringReader(json)));
+    }
+
+    private static BookResultDTO readResult(JsonReader reader) throws IOException {
+        Integer id = null;
+        String title = null;
+        List<AuthorDTO> authors = new ArrayList<>(1);
+        List<String> languages = new ArrayList<>(1);
+        int downloadCount = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id" -> id = nextNullableInt(reader);
+                case "title" -> title = nextNullableString(reader);
+                case "authors" -> {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        authors.add(readAuthor(reader));
+                    }
+                    reader.endArray();
+                }
+                case "languages" -> {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        languages.add(reader.nextString());
+                    }
+                    reader.endArray();
+                }
+                case "download_count" -> downloadCount = reader.nextInt();
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new BookResultDTO(id, title, authors, languages, downloadCount);
+    }
+
+    private static AuthorDTO readAuthor(JsonReader reader) throws IOException {
+        String name = null;
+        Integer birthYear = null;
+        Integer deathYear = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name" -> name = nextNullableString(reader);
+                case "birth_year" -> birthYear = nextNullableInt(reader);
+                case "death_year" -> deathYear = nextNullableInt(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new AuthorDTO(name, birthYear, deathYear);
+    }
+
+    private static String nextNullableString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    private static Integer nextNullableInt(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextInt();
+    }
+
+    /**
+     * Counts the UTF-8 bytes of a string without encoding it.
+     */
+    private static long utf8Length(String text) {
+        long bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Counts the bytes read through it.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,188 @@
+package com.API.BookLens.service;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Moves the single author and language that books used to keep in their own
+ * columns into the book_authors and book_languages tables, then drops the old
+ * columns. Schema updates only add tables and columns, so databases created
+ * before books had several authors still carry them. Runs once at startup and
+ * does nothing when the columns are gone.
+ *
+ * It also moves the id sequences past the highest stored id. Books and
+ * authors used to get identity ids, and the schema update creates their
+ * sequences starting at 1, so the first ids handed out would collide with
+ * stored rows. Empty tables and sequences already ahead are left alone.
+ *
+ * The prod profile leaves the schema to Flyway, so this bean does not exist
+ * there and versions 2 and 3 of the migrations run the same steps.
+ */
+@Component
+@Profile("!prod")
+public class LegacyColumnMigration {
+
+    /** The allocation size of the id generators of {@code Book} and {@code Author}. */
+    private static final int ID_ALLOCATION = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs the migration.
+     *
+     * @param jdbcTemplate         the template the statements are run with
+     * @param entityManagerFactory required so the migration runs after the
+     *                             schema update has created the new tables
+     */
+    @Autowired
+    public LegacyColumnMigration(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this(jdbcTemplate);
+    }
+
+    /**
+     * Constructs the migration on a connection of its own, for the Flyway
+     * migrations of the prod profile.
+     *
+     * @param jdbcTemplate the template the statements are run with
+     */
+    public LegacyColumnMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        moveSingleColumns();
+        seedIdSequences();
+    }
+
+    /**
+     * Moves the single author and language columns of books into the join
+     * tables and drops them, if they are still there. Creates the join tables
+     * first if the schema does not have them yet.
+     */
+    public void moveSingleColumns() {
+        List<String> columns = bookColumns();
+        if (columns.contains("author_id") && !isTable("book_authors")) {
+            jdbcTemplate.execute("CREATE TABLE book_authors (book_id BIGINT NOT NULL, position INTEGER NOT NULL,"
+                    + " author_id BIGINT NOT NULL, PRIMARY KEY (position, book_id),"
+                    + " CONSTRAINT fk_book_authors_book FOREIGN KEY (book_id) REFERENCES books (id),"
+                    + " CONSTRAINT fk_book_authors_author FOREIGN KEY (author_id) REFERENCES authors (id))");
+            jdbcTemplate.execute("CREATE INDEX idx_book_authors_author ON book_authors (author_id, book_id)");
+        }
+        if (columns.contains("language") && !isTable("book_languages")) {
+            jdbcTemplate.execute("CREATE TABLE book_languages (book_id BIGINT NOT NULL, position INTEGER NOT NULL,"
+                    + " language VARCHAR(16), PRIMARY KEY (position, book_id),"
+                    + " CONSTRAINT fk_book_languages_book FOREIGN KEY (book_id) REFERENCES books (id))");
+            jdbcTemplate.execute("CREATE INDEX idx_book_languages_language ON book_languages (language, book_id)");
+        }
+        if (columns.contains("author_id")) {
+            int copied = jdbcTemplate.update("INSERT INTO book_authors (book_id, author_id, position)"
+                    + " SELECT b.id, b.author_id, 0 FROM books b WHERE b.author_id IS NOT NULL"
+                    + " AND NOT EXISTS (SELECT 1 FROM book_authors ba WHERE ba.book_id = b.id)");
+            for (String foreignKey : foreignKeysOn("author_id")) {
+                jdbcTemplate.execute("ALTER TABLE books DROP FOREIGN KEY " + foreignKey);
+            }
+            jdbcTemplate.execute("ALTER TABLE books DROP COLUMN author_id");
+            System.out.println("Moved " + copied + " book authors to book_authors");
+        }
+        if (columns.contains("language")) {
+            int copied = jdbcTemplate.update("INSERT INTO book_languages (book_id, language, position)"
+                    + " SELECT b.id, b.language, 0 FROM books b WHERE b.language IS NOT NULL"
+                    + " AND NOT EXISTS (SELECT 1 FROM book_languages bl WHERE bl.book_id = b.id)");
+            jdbcTemplate.execute("ALTER TABLE books DROP COLUMN language");
+            System.out.println("Moved " + copied + " book languages to book_languages");
+        }
+    }
+
+    /**
+     * Moves the book and author id sequences past the highest stored id plus
+     * one allocation, whether they are real sequences or the tables MySQL
+     * emulates them with.
+     */
+    public void seedIdSequences() {
+        seedIdSequence("books", "books_seq");
+        seedIdSequence("authors", "authors_seq");
+    }
+
+    private void seedIdSequence(String table, String sequence) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+        long next = maxId + ID_ALLOCATION + 1;
+        if (isTable(sequence)) {
+            int updated = jdbcTemplate.update("UPDATE " + sequence + " SET next_val = ? WHERE next_val < ?", next,
+                    next);
+            Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + sequence, Integer.class);
+            if (rows == 0) {
+                updated = jdbcTemplate.update("INSERT INTO " + sequence + " (next_val) VALUES (?)", next);
+            }
+            if (updated > 0) {
+                System.out.println("Moved " + sequence + " to " + next + " past the stored " + table);
+            }
+            return;
+        }
+        Long current = jdbcTemplate.queryForObject("SELECT base_value FROM information_schema.sequences"
+                + " WHERE LOWER(sequence_name) = ?", Long.class, sequence);
+        if (current != null && current < next) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + next);
+            System.out.println("Moved " + sequence + " to " + next + " past the stored " + table);
+        }
+    }
+
+    private boolean isTable(String name) {
+        return jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String stored = metaData.storesUpperCaseIdentifiers() ? name.toUpperCase() : name;
+            try (ResultSet rows = metaData.getTables(connection.getCatalog(), null, stored,
+                    new String[] { "TABLE" })) {
+                return rows.next();
+            }
+        });
+    }
+
+    private List<String> bookColumns() {
+        return jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+            List<String> columns = new ArrayList<>();
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet rows = metaData.getColumns(connection.getCatalog(), null, table(metaData), null)) {
+                while (rows.next()) {
+                    columns.add(rows.getString("COLUMN_NAME").toLowerCase());
+                }
+            }
+            return columns;
+        });
+    }
+
+    private List<String> foreignKeysOn(String column) {
+        return jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+            List<String> keys = new ArrayList<>();
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet rows = metaData.getImportedKeys(connection.getCatalog(), null, table(metaData))) {
+                while (rows.next()) {
+                    if (rows.getString("FKCOLUMN_NAME").equalsIgnoreCase(column)) {
+                        keys.add(rows.getString("FK_NAME"));
+                    }
+                }
+            }
+            return keys;
+        });
+    }
+
+    private static String table(DatabaseMetaData metaData) throws SQLException {
+        return metaData.storesUpperCaseIdentifiers() ? "BOOKS" : "books";
+    }
+
+}
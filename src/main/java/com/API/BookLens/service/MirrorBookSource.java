@@ -0,0 +1,204 @@
+package com.API.BookLens.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.API.BookLens.dto.AuthorDTO;
+import com.API.BookLens.dto.BookResultDTO;
+
+/**
+ * Reads books from a local dump of Gutendex: a file with one Gutendex result
+ * object per line. The file is loaded into memory on first use. Searches match
+ * every word of the query against the title and author names, ignoring case,
+ * and return the most downloaded matches first, one Gutendex page at most.
+ * Without a configured file the source is disabled.
+ *
+ * Lines that are not a result object are skipped and counted, as the file
+ * importer does. A file that cannot be read fails every later call with the
+ * same error instead of being read again.
+ */
+@Service
+public class MirrorBookSource implements BookSource {
+
+    static final int PAGE_SIZE = 32;
+
+    private final Path path;
+    private volatile Catalog catalog;
+    private volatile UncheckedIOException loadFailure;
+
+    /**
+     * Constructs the source from the configured dump.
+     *
+     * @param path the dump file, or empty to disable the mirror
+     */
+    @Autowired
+    public MirrorBookSource(@Value("${booklens.mirror.path:}") String path) {
+        this(path.isBlank() ? null : Path.of(path));
+    }
+
+    /**
+     * Constructs the source.
+     *
+     * @param path the dump file, or null to disable the mirror
+     */
+    public MirrorBookSource(Path path) {
+        this.path = path;
+    }
+
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    /**
+     * Returns the number of lines of the dump that were not a result object.
+     *
+     * @return the lines skipped, or 0 before the dump is loaded
+     */
+    public long getMalformedLines() {
+        Catalog loaded = catalog;
+        return loaded == null ? 0 : loaded.malformed();
+    }
+
+    @Override
+    public String name() {
+        return "mirror";
+    }
+
+    @Override
+    public CompletableFuture<List<BookResultDTO>> search(String query) {
+        try {
+            return CompletableFuture.completedFuture(catalog().search(query));
+        } catch (UncheckedIOException e) {
+            return CompletableFuture.failedFuture(e.getCause());
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<BookResultDTO>> fetchByIds(Collection<Integer> ids) {
+        try {
+            Catalog books = catalog();
+            List<BookResultDTO> found = new ArrayList<>(ids.size());
+            for (Integer id : ids) {
+                BookResultDTO book = books.byId().get(id);
+                if (book != null) {
+                    found.add(book);
+                }
+            }
+            return CompletableFuture.completedFuture(found);
+        } catch (UncheckedIOException e) {
+            return CompletableFuture.failedFuture(e.getCause());
+        }
+    }
+
+    /**
+     * Loads the dump the first time it is needed, or rethrows the failure of
+     * that first load.
+     */
+    private Catalog catalog() {
+        Catalog loaded = catalog;
+        if (loaded == null) {
+            synchronized (this) {
+                if (loadFailure != null) {
+                    throw loadFailure;
+                }
+                loaded = catalog;
+                if (loaded == null) {
+                    try {
+                        loaded = load();
+                    } catch (UncheckedIOException e) {
+                        loadFailure = e;
+                        throw e;
+                    }
+                    catalog = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private Catalog load() {
+        if (path == null) {
+            return new Catalog(List.of(), List.of(), Map.of(), 0);
+        }
+        List<BookResultDTO> books = new ArrayList<>();
+        long malformed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    books.add(JsonConverter.parseResult(line));
+                } catch (IOException | RuntimeException e) {
+                    malformed++;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read mirror " + path, e);
+        }
+        books.sort(Comparator.comparingInt(BookResultDTO::download_count).reversed());
+
+        List<String> searchable = new ArrayList<>(books.size());
+        Map<Integer, BookResultDTO> byId = new HashMap<>();
+        for (BookResultDTO book : books) {
+            StringBuilder text = new StringBuilder(book.title() == null ? "" : book.title());
+            for (AuthorDTO author : book.authors()) {
+                if (author.name() != null) {
+                    text.append(' ').append(author.name());
+                }
+            }
+            searchable.add(text.toString().toLowerCase(Locale.ROOT));
+            if (book.id() != null) {
+                byId.put(book.id(), book);
+            }
+        }
+        System.out.println("Loaded " + books.size() + " books from mirror " + path
+                + (malformed > 0 ? ", skipped " + malformed + " malformed lines" : ""));
+        return new Catalog(books, searchable, byId, malformed);
+    }
+
+    /**
+     * The loaded dump. The books are sorted by downloads, most first, and
+     * searchable holds the lower-case title and author names of each.
+     */
+    private record Catalog(List<BookResultDTO> books, List<String> searchable, Map<Integer, BookResultDTO> byId,
+            long malformed) {
+
+        private List<BookResultDTO> search(String query) {
+            String[] words = query.toLowerCase(Locale.ROOT).trim().split("\\s+");
+            List<BookResultDTO> matches = new ArrayList<>();
+            for (int i = 0; i < books.size() && matches.size() < PAGE_SIZE; i++) {
+                if (containsAll(searchable.get(i), words)) {
+                    matches.add(books.get(i));
+                }
+            }
+            return matches;
+        }
+
+        private static boolean containsAll(String text, String[] words) {
+            for (String word : words) {
+                if (!text.contains(word)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+}
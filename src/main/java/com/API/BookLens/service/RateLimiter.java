@@ -0,0 +1,44 @@
+package com.API.BookLens.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces calls evenly so that no more than a given number start per second,
+ * however many threads share the limiter.
+ */
+final class RateLimiter {
+
+    private final long intervalNanos;
+    private long nextFree = System.nanoTime();
+
+    /**
+     * Constructs the limiter.
+     *
+     * @param permitsPerSecond the maximum rate, must be positive
+     */
+    RateLimiter(double permitsPerSecond) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("Rate must be positive.");
+        }
+        this.intervalNanos = (long) (1_000_000_000 / permitsPerSecond);
+    }
+
+    /**
+     * Reserves the next free slot and sleeps until it starts.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void acquire() throws InterruptedException {
+        long wait;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextFree);
+            nextFree = slot + intervalNanos;
+            wait = slot - now;
+        }
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+}
@@ -0,0 +1,307 @@
+package com.API.BookLens.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Caches API responses by normalized address.
+ *
+ * Responses are kept in a memory tier bounded by size and, when a directory
+ * is configured, in gzip-compressed files that survive restarts. A response
+ * younger than the TTL is served as is. One older than the TTL but within the
+ * stale-while-revalidate window is served immediately while a background
+ * fetch refreshes it. Anything older is fetched again, falling back to the
+ * stale copy if that fetch fails.
+ */
+@Component
+public class ResponseCache {
+
+    /**
+     * Fetches the body of an address from the upstream API.
+     */
+    @FunctionalInterface
+    public interface Fetcher {
+        String fetch(String address) throws IOException, InterruptedException;
+    }
+
+    private final Fetcher fetcher;
+    private final Duration ttl;
+    private final Duration staleWhileRevalidate;
+    private final Path directory;
+    private final Clock clock;
+    private final Cache<String, Entry> memory;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "response-cache-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructs the cache in front of the shared API client.
+     *
+     * @param apiClient            the client responses are fetched with
+     * @param ttl                  how long a response is served without
+     *                             revalidation
+     * @param staleWhileRevalidate how long after the TTL a response is still
+     *                             served while it is refreshed
+     * @param maxMemoryBytes       approximate size bound of the memory tier
+     * @param directory            directory of the disk tier, or empty to
+     *                             keep responses in memory only
+     */
+    @Autowired
+    public ResponseCache(ApiClient apiClient, @Value("${booklens.response-cache.ttl:PT1H}") Duration ttl,
+            @Value("${booklens.response-cache.stale-while-revalidate:PT24H}") Duration staleWhileRevalidate,
+            @Value("${booklens.response-cache.max-memory-bytes:33554432}") long maxMemoryBytes,
+            @Value("${booklens.response-cache.directory:}") String directory) {
+        this(apiClient::get, ttl, staleWhileRevalidate, maxMemoryBytes,
+                directory.isBlank() ? null : Path.of(directory), Clock.systemUTC());
+    }
+
+    /**
+     * Constructs the cache in front of the given fetcher.
+     *
+     * @param fetcher              fetches responses that are missing or
+     *                             expired
+     * @param ttl                  how long a response is served without
+     *                             revalidation
+     * @param staleWhileRevalidate how long after the TTL a response is still
+     *                             served while it is refreshed
+     * @param maxMemoryBytes       approximate size bound of the memory tier
+     * @param directory            directory of the disk tier, or null to keep
+     *                             responses in memory only
+     * @param clock                the clock ages are measured with
+     */
+    public ResponseCache(Fetcher fetcher, Duration ttl, Duration staleWhileRevalidate, long maxMemoryBytes,
+            Path directory, Clock clock) {
+        this.fetcher = fetcher;
+        this.ttl = ttl;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.directory = directory;
+        this.clock = clock;
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(maxMemoryBytes)
+                .weigher((String key, Entry entry) -> 2 * (key.length() + entry.body().length()))
+                .build();
+        if (directory != null) {
+            try {
+                Files.createDirectories(directory);
+                pruneDisk();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot use response cache directory " + directory, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the response for the given address, from the cache when it is
+     * fresh enough.
+     *
+     * @param address the address to retrieve
+     * @return the response body
+     * @throws IOException          if the response had to be fetched and the
+     *                              fetch failed with no stale copy to fall
+     *                              back to
+     * @throws InterruptedException if interrupted while fetching
+     */
+    public String get(String address) throws IOException, InterruptedException {
+        String key = normalize(address);
+        Entry entry = lookup(key);
+        if (entry != null) {
+            Duration age = Duration.ofMillis(clock.millis() - entry.fetchedAt());
+            if (age.compareTo(ttl) <= 0) {
+                return entry.body();
+            }
+            if (age.compareTo(ttl.plus(staleWhileRevalidate)) <= 0) {
+                refreshInBackground(key);
+                return entry.body();
+            }
+        }
+        try {
+            return fetchAndStore(key).body();
+        } catch (IOException e) {
+            if (entry != null) {
+                return entry.body();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Normalizes an address so equivalent queries share one entry: the scheme
+     * and host are lower-cased, default ports dropped and query parameters
+     * decoded, sorted and re-encoded uniformly.
+     *
+     * @param address the address to normalize
+     * @return the normalized address
+     */
+    static String normalize(String address) {
+        URI uri = URI.create(address.trim());
+        String scheme = uri.getScheme().toLowerCase();
+        int port = uri.getPort();
+        boolean defaultPort = port == -1 || (scheme.equals("https") && port == 443)
+                || (scheme.equals("http") && port == 80);
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+
+        List<String> parameters = new ArrayList<>();
+        if (uri.getRawQuery() != null) {
+            for (String parameter : uri.getRawQuery().split("&")) {
+                if (parameter.isEmpty()) {
+                    continue;
+                }
+                int equals = parameter.indexOf('=');
+                String name = equals < 0 ? parameter : parameter.substring(0, equals);
+                String value = equals < 0 ? "" : parameter.substring(equals + 1);
+                parameters.add(encode(decode(name)) + "=" + encode(decode(value).trim()));
+            }
+        }
+        parameters.sort(null);
+
+        return scheme + "://" + uri.getHost().toLowerCase() + (defaultPort ? "" : ":" + port) + path
+                + (parameters.isEmpty() ? "" : "?" + String.join("&", parameters));
+    }
+
+    private Entry lookup(String key) {
+        Entry entry = memory.getIfPresent(key);
+        if (entry == null && directory != null) {
+            entry = readDisk(key);
+            if (entry != null) {
+                memory.put(key, entry);
+            }
+        }
+        return entry;
+    }
+
+    private Entry fetchAndStore(String key) throws IOException, InterruptedException {
+        Entry entry = new Entry(fetcher.fetch(key), clock.millis());
+        memory.put(key, entry);
+        if (directory != null) {
+            writeDisk(key, entry);
+        }
+        return entry;
+    }
+
+    private void refreshInBackground(String key) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        refresher.execute(() -> {
+            try {
+                fetchAndStore(key);
+            } catch (IOException | RuntimeException e) {
+                System.out.println("Could not refresh " + key + ": " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                refreshing.remove(key);
+            }
+        });
+    }
+
+    private Entry readDisk(String key) {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(Files.newInputStream(fileOf(key))))) {
+            if (!in.readUTF().equals(key)) {
+                return null;
+            }
+            long fetchedAt = in.readLong();
+            return new Entry(new String(in.readAllBytes(), StandardCharsets.UTF_8), fetchedAt);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            System.out.println("Ignoring unreadable cache entry for " + key + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes an entry to a temporary file and moves it into place, so readers
+     * never see a partially written entry.
+     */
+    private void writeDisk(String key, Entry entry) {
+        Path target = fileOf(key);
+        try {
+            Path temporary = Files.createTempFile(directory, "entry", ".tmp");
+            try (OutputStream file = Files.newOutputStream(temporary);
+                    DataOutputStream out = new DataOutputStream(new GZIPOutputStream(file))) {
+                out.writeUTF(key);
+                out.writeLong(entry.fetchedAt());
+                out.write(entry.body().getBytes(StandardCharsets.UTF_8));
+            }
+            try {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.out.println("Could not write cache entry for " + key + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes disk entries too old to ever be served again.
+     */
+    private void pruneDisk() throws IOException {
+        long oldest = clock.millis() - ttl.plus(staleWhileRevalidate).toMillis();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.getLastModifiedTime(file).toMillis() < oldest) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private Path fileOf(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(digest) + ".json.gz");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private record Entry(String body, long fetchedAt) {
+    }
+
+}
@@ -0,0 +1,515 @@
+package com.API.BookLens.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.API.BookLens.dto.BookResponseDTO;
+
+/**
+ * Answers title and author searches from the stored catalog without going to
+ * the database or the API.
+ *
+ * Titles and author names are split into words, lower-cased and stripped of
+ * accents, and each word points to a sorted list of the books containing it.
+ * Every word of a query must match: all but the last exactly, the last one as
+ * a prefix so partially typed queries work, once it has two letters. Fuzzy
+ * searches also accept words within one or two edits of a stored word when
+ * nothing matches exactly. Results are ranked by downloads. The index is
+ * loaded in the background at startup and kept current through {@link #add},
+ * which replaces a book added again, and {@link #updateDownloads}. A rebuild reads the catalog
+ * into new maps while searches keep using the current ones, and only holds
+ * the write lock to swap them in.
+ */
+@Component
+public class SearchIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private final CatalogStreamer catalogStreamer;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private NavigableMap<String, Postings> terms = new TreeMap<>();
+    private Map<Long, BookResponseDTO> books = new HashMap<>();
+    /** Books added while a rebuild reads the catalog, or null outside a rebuild. */
+    private List<BookResponseDTO> addedDuringRebuild;
+    private final AtomicBoolean loadStarted = new AtomicBoolean();
+
+    /**
+     * Constructs the index.
+     *
+     * @param catalogStreamer the scan the index is loaded from
+     */
+    public SearchIndex(CatalogStreamer catalogStreamer) {
+        this.catalogStreamer = catalogStreamer;
+    }
+
+    /**
+     * Starts loading every stored book on a background thread once the
+     * context is ready.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void load() {
+        if (!loadStarted.compareAndSet(false, true)) {
+            return;
+        }
+        Thread loader = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                System.out.println("Search index load failed, local searches will miss: " + e.getMessage());
+            }
+        }, "search-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Reloads the index from the database on the calling thread and replaces
+     * the current one with it. Searches answered meanwhile use the current
+     * index.
+     */
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            addedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        NavigableMap<String, Postings> newTerms = new TreeMap<>();
+        Map<Long, BookResponseDTO> newBooks = new HashMap<>();
+        boolean read = false;
+        try {
+            catalogStreamer.forEachBook(book -> index(BookMapper.toResponse(book), newTerms, newBooks));
+            read = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (read) {
+                    // books committed after the scan passed them are only known from add
+                    addedDuringRebuild.forEach(book -> index(book, newTerms, newBooks));
+                    terms = newTerms;
+                    books = newBooks;
+                }
+                addedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        System.out.printf("Search index loaded %d books and %d words in %d ms%n",
+                size(), termCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Adds books that have been committed to the database, replacing those
+     * already indexed.
+     *
+     * @param stored the stored books
+     */
+    public void add(Collection<BookResponseDTO> stored) {
+        lock.writeLock().lock();
+        try {
+            for (BookResponseDTO book : stored) {
+                index(book, terms, books);
+            }
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.addAll(stored);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the download counts of indexed books, so searches rank them by
+     * their refreshed counts. Books not indexed are skipped.
+     *
+     * @param downloads the new download counts by book id
+     */
+    public void updateDownloads(Map<Long, Long> downloads) {
+        lock.writeLock().lock();
+        try {
+            List<BookResponseDTO> updated = new ArrayList<>(downloads.size());
+            downloads.forEach((id, count) -> {
+                BookResponseDTO book = books.get(id);
+                if (book != null) {
+                    updated.add(new BookResponseDTO(id, book.title(), book.authors(), book.languages(), count));
+                }
+            });
+            add(updated);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the stored books whose title or authors contain every word of the
+     * query.
+     *
+     * @param query the words to search for
+     * @param limit the maximum number of books to return
+     * @param fuzzy whether a word with no exact or prefix match may match
+     *              words within a few edits
+     * @return the matching books, most downloaded first
+     */
+    public List<BookResponseDTO> search(String query, int limit, boolean fuzzy) {
+        return search(query, limit, fuzzy, false);
+    }
+
+    /**
+     * Finds the stored books whose title alone contains every word of the
+     * query, the last as a prefix.
+     *
+     * @param query the words to search for
+     * @param limit the maximum number of books to return
+     * @return the matching books, most downloaded first
+     */
+    public List<BookResponseDTO> searchTitles(String query, int limit) {
+        return search(query, limit, false, true);
+    }
+
+    private List<BookResponseDTO> search(String query, int limit, boolean fuzzy, boolean titlesOnly) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(words.size());
+            for (int i = 0; i < words.size(); i++) {
+                Postings postings = lookup(words.get(i), i == words.size() - 1, fuzzy);
+                if (postings.size == 0) {
+                    return List.of();
+                }
+                lists.add(postings);
+            }
+            lists.sort(Comparator.comparingInt(postings -> postings.size));
+            long[] matches = lists.get(0).toArray();
+            int count = matches.length;
+            for (int i = 1; i < lists.size() && count > 0; i++) {
+                count = lists.get(i).retainAll(matches, count);
+            }
+            return mostDownloaded(matches, count, limit, titlesOnly ? words : null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return books.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into lower-case words without accents.
+     *
+     * @param text the text to split
+     * @return the words in order, possibly with repeats
+     */
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String word : SEPARATORS.split(folded)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Indexes a book, replacing the entry of a book with the same id and
+     * moving it off the words it no longer contains.
+     */
+    private static void index(BookResponseDTO book, NavigableMap<String, Postings> terms,
+            Map<Long, BookResponseDTO> books) {
+        BookResponseDTO previous = books.put(book.id(), book);
+        Set<String> words = words(book);
+        if (previous != null) {
+            Set<String> previousWords = words(previous);
+            if (previousWords.equals(words)) {
+                return;
+            }
+            for (String word : previousWords) {
+                if (!words.contains(word)) {
+                    Postings postings = terms.get(word);
+                    postings.remove(book.id());
+                    if (postings.size == 0) {
+                        terms.remove(word);
+                    }
+                }
+            }
+        }
+        for (String word : words) {
+            terms.computeIfAbsent(word, w -> new Postings()).add(book.id());
+        }
+    }
+
+    private static Set<String> words(BookResponseDTO book) {
+        Set<String> words = new HashSet<>(tokenize(book.title()));
+        for (String author : book.authors()) {
+            words.addAll(tokenize(author));
+        }
+        return words;
+    }
+
+    /**
+     * Returns the ids of the books containing the word, or words starting with
+     * it for the last word of a query.
+     */
+    private Postings lookup(String word, boolean prefix, boolean fuzzy) {
+        Collection<Postings> matching;
+        if (prefix && word.length() >= MIN_PREFIX_LENGTH) {
+            matching = terms.subMap(word, true, word + Character.MAX_VALUE, false).values();
+        } else {
+            Postings exact = terms.get(word);
+            matching = exact == null ? List.of() : List.of(exact);
+        }
+        if (matching.isEmpty() && fuzzy) {
+            matching = near(word);
+        }
+        if (matching.size() == 1) {
+            return matching.iterator().next();
+        }
+        return Postings.union(matching);
+    }
+
+    /**
+     * Picks the most downloaded books among the matches without sorting all
+     * of them, keeping only those whose title holds the query words if they
+     * are given.
+     */
+    private List<BookResponseDTO> mostDownloaded(long[] matches, int count, int limit, List<String> titleWords) {
+        Comparator<BookResponseDTO> byDownloads = Comparator.comparing(BookResponseDTO::numberOfDownloads,
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+        PriorityQueue<BookResponseDTO> top = new PriorityQueue<>(limit + 1, byDownloads);
+        for (int i = 0; i < count; i++) {
+            BookResponseDTO book = books.get(matches[i]);
+            if (titleWords != null && !titleContains(book.title(), titleWords)) {
+                continue;
+            }
+            top.add(book);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<BookResponseDTO> result = new ArrayList<>(top);
+        result.sort(byDownloads.reversed());
+        return result;
+    }
+
+    /**
+     * Checks that a title holds every query word, matching the last one as a
+     * prefix as {@link #lookup} does.
+     */
+    private static boolean titleContains(String title, List<String> words) {
+        List<String> titleWords = tokenize(title);
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            boolean prefix = i == words.size() - 1 && word.length() >= MIN_PREFIX_LENGTH;
+            boolean found = false;
+            for (int j = 0; j < titleWords.size() && !found; j++) {
+                found = prefix ? titleWords.get(j).startsWith(word) : titleWords.get(j).equals(word);
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the postings of the words within the allowed edit distance: none
+     * for words of up to three letters, one up to seven and two beyond.
+     */
+    private List<Postings> near(String word) {
+        int maxDistance = word.length() <= 3 ? 0 : word.length() <= 7 ? 1 : 2;
+        List<Postings> near = new ArrayList<>();
+        if (maxDistance == 0) {
+            return near;
+        }
+        for (Map.Entry<String, Postings> term : terms.entrySet()) {
+            if (Math.abs(term.getKey().length() - word.length()) <= maxDistance
+                    && distance(word, term.getKey(), maxDistance) <= maxDistance) {
+                near.add(term.getValue());
+            }
+        }
+        return near;
+    }
+
+    /**
+     * Computes the edit distance between two words, counting an insertion,
+     * deletion, substitution or swap of adjacent letters as one edit, and
+     * giving up as soon as it exceeds the maximum.
+     *
+     * @return the distance, or maximum + 1 if it is larger than the maximum
+     */
+    static int distance(String a, String b, int maximum) {
+        int[] beforePrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], beforePrevious[j - 2] + 1);
+                }
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > maximum) {
+                return maximum + 1;
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], maximum + 1);
+    }
+
+    /**
+     * The sorted ids of the books containing a word. Ids usually arrive in
+     * ascending order, so adding one is an append.
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[2];
+        private int size;
+
+        void add(long id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int position = Arrays.binarySearch(ids, 0, size, id);
+                if (position >= 0) {
+                    return;
+                }
+                insert(-position - 1, id);
+                return;
+            }
+            insert(size, id);
+        }
+
+        void remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+                size--;
+            }
+        }
+
+        private void insert(int position, long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        /**
+         * Keeps the first count ids of the sorted array that are also in
+         * these postings, moving them to the front. Merges both lists when
+         * they are of similar length and binary searches these postings when
+         * the array is much shorter.
+         *
+         * @return the number of ids kept
+         */
+        int retainAll(long[] sorted, int count) {
+            int kept = 0;
+            if ((long) count * 16 < size) {
+                int from = 0;
+                for (int i = 0; i < count && from < size; i++) {
+                    int position = Arrays.binarySearch(ids, from, size, sorted[i]);
+                    if (position >= 0) {
+                        sorted[kept++] = sorted[i];
+                        from = position + 1;
+                    } else {
+                        from = -position - 1;
+                    }
+                }
+                return kept;
+            }
+            int j = 0;
+            for (int i = 0; i < count && j < size; i++) {
+                while (j < size && ids[j] < sorted[i]) {
+                    j++;
+                }
+                if (j < size && ids[j] == sorted[i]) {
+                    sorted[kept++] = sorted[i];
+                    j++;
+                }
+            }
+            return kept;
+        }
+
+        static Postings union(Collection<Postings> lists) {
+            Postings union = new Postings();
+            int total = 0;
+            for (Postings postings : lists) {
+                total += postings.size;
+            }
+            long[] all = new long[total];
+            int n = 0;
+            for (Postings postings : lists) {
+                System.arraycopy(postings.ids, 0, all, n, postings.size);
+                n += postings.size;
+            }
+            Arrays.sort(all);
+            for (long id : all) {
+                if (union.size == 0 || union.ids[union.size - 1] != id) {
+                    union.insert(union.size, id);
+                }
+            }
+            return union;
+        }
+
+    }
+
+}
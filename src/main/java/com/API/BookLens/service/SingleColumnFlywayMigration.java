@@ -0,0 +1,48 @@
+package com.API.BookLens.service;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Version 3 of the schema for the prod profile: moves the single author and
+ * language columns books used to have into the join tables, as
+ * {@link LegacyColumnMigration} does at startup without the profile. Does
+ * nothing on a database without those columns.
+ *
+ * The statements change the schema, which MySQL commits right away, so the
+ * migration does not run in a transaction.
+ */
+@Component
+public class SingleColumnFlywayMigration implements JavaMigration {
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("3");
+    }
+
+    @Override
+    public String getDescription() {
+        return "move single author and language columns";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        new LegacyColumnMigration(jdbcTemplate).moveSingleColumns();
+    }
+
+}
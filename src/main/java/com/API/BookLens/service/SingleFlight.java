@@ -0,0 +1,89 @@
+package com.API.BookLens.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent calls for the same key share one call in flight.
+ *
+ * The first caller for a key starts the call; everyone asking for the key
+ * before it completes gets the same result, including its failure. Once the
+ * call completes the key is forgotten, so the next caller starts a new one.
+ * Results are not cached beyond that.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the results
+ */
+public final class SingleFlight<K, V> {
+
+    private final String name;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Constructs the single flight.
+     *
+     * @param name the name its calls are counted under
+     */
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Starts the call for the key, or joins the one already in flight.
+     *
+     * @param key  the key identifying equal calls
+     * @param call starts the call when none is in flight for the key
+     * @return a future completed with the result of the shared call; each
+     *         caller gets its own, so cancelling it does not affect the others
+     */
+    public CompletableFuture<V> run(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> shared = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            BookLensMetrics.singleFlight(name, "coalesced");
+            return existing.copy();
+        }
+        started.incrementAndGet();
+        BookLensMetrics.singleFlight(name, "started");
+        CompletableFuture<V> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((value, error) -> {
+            inFlight.remove(key, shared);
+            if (error != null) {
+                shared.completeExceptionally(error);
+            } else {
+                shared.complete(value);
+            }
+        });
+        return shared.copy();
+    }
+
+    /**
+     * Returns how many calls were started.
+     *
+     * @return the number of calls that found none in flight for their key
+     */
+    public long getStarted() {
+        return started.get();
+    }
+
+    /**
+     * Returns how many calls joined one in flight.
+     *
+     * @return the number of calls that shared another caller's result
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+}
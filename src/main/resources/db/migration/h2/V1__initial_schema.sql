@@ -0,0 +1,65 @@
+-- The schema of db/migration/mysql for an embedded H2 database, where ids
+-- come from real sequences.
+
+CREATE SEQUENCE authors_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE books_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE authors (
+    id BIGINT NOT NULL,
+    name VARCHAR(255),
+    date_of_birth_year INTEGER NOT NULL,
+    date_of_death_year INTEGER NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_authors_name UNIQUE (name)
+);
+
+CREATE INDEX idx_authors_life_years ON authors (date_of_birth_year, date_of_death_year);
+
+CREATE TABLE books (
+    id BIGINT NOT NULL,
+    title VARCHAR(255),
+    gutendex_id BIGINT,
+    number_of_downloads BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_books_title UNIQUE (title),
+    CONSTRAINT uk_books_gutendex_id UNIQUE (gutendex_id)
+);
+
+CREATE INDEX idx_books_number_of_downloads ON books (number_of_downloads);
+
+CREATE TABLE book_authors (
+    book_id BIGINT NOT NULL,
+    position INTEGER NOT NULL,
+    author_id BIGINT NOT NULL,
+    PRIMARY KEY (position, book_id),
+    CONSTRAINT fk_book_authors_book FOREIGN KEY (book_id) REFERENCES books (id),
+    CONSTRAINT fk_book_authors_author FOREIGN KEY (author_id) REFERENCES authors (id)
+);
+
+CREATE INDEX idx_book_authors_author ON book_authors (author_id, book_id);
+
+CREATE TABLE book_languages (
+    book_id BIGINT NOT NULL,
+    position INTEGER NOT NULL,
+    language VARCHAR(16),
+    PRIMARY KEY (position, book_id),
+    CONSTRAINT fk_book_languages_book FOREIGN KEY (book_id) REFERENCES books (id)
+);
+
+CREATE INDEX idx_book_languages_language ON book_languages (language, book_id);
+
+CREATE TABLE refresh_checkpoints (
+    name VARCHAR(255) NOT NULL,
+    last_book_id BIGINT NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (name)
+);
+
+CREATE TABLE import_checkpoints (
+    file VARCHAR(512) NOT NULL,
+    file_size BIGINT NOT NULL,
+    imported_bytes BIGINT NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (file)
+);
@@ -0,0 +1,69 @@
+package com.API.BookLens;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.API.BookLens.model.Author;
+import com.API.BookLens.model.Book;
+import com.API.BookLens.repository.AuthorRepository;
+import com.API.BookLens.repository.BookRepository;
+import com.API.BookLens.service.BookBatchWriter;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Starts the h2 storage profile together with prod on a database file of its
+ * own, with Hibernate validating the schema the H2 migrations created.
+ */
+@SpringBootTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@ActiveProfiles({ "prod", "h2" })
+class EmbeddedStorageTest {
+
+	@TempDir
+	static Path directory;
+
+	@DynamicPropertySource
+	static void databaseFile(DynamicPropertyRegistry registry) {
+		registry.add("booklens.h2.path", () -> directory.resolve("catalog").toString());
+	}
+
+	@Autowired
+	private DataSource dataSource;
+	@Autowired
+	private Flyway flyway;
+	@Autowired
+	private BookBatchWriter writer;
+	@Autowired
+	private BookRepository bookRepository;
+	@Autowired
+	private AuthorRepository authorRepository;
+
+	@Test
+	void keepsTheCatalogInALocalFile() {
+		assertThat(((HikariDataSource) dataSource).getJdbcUrl()).startsWith("jdbc:h2:file:" + directory);
+		assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("3");
+
+		writer.addAll(List.of(new Book("Embedded title", new Author("Embedded, Author", 1800, 1870), "pt", 3)));
+		writer.flush();
+
+		assertThat(bookRepository.findFirstByTitle("Embedded title").getNumberOfDownloads()).isEqualTo(3);
+		assertThat(authorRepository.findFirstByName("Embedded, Author").getDateOfBirthYear()).isEqualTo(1800);
+		assertThat(bookRepository.findFirstByTitle("Missing title")).isNull();
+		assertThat(Files.exists(directory.resolve("catalog.mv.db"))).isTrue();
+	}
+
+}
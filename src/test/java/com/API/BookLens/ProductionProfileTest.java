@@ -0,0 +1,101 @@
+package com.API.BookLens;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.API.BookLens.model.Author;
+import com.API.BookLens.model.Book;
+import com.API.BookLens.repository.BookRepository;
+import com.API.BookLens.service.BookBatchWriter;
+import com.API.BookLens.service.LegacyColumnMigration;
+
+/**
+ * Starts the prod profile on an empty database of its own, with Hibernate
+ * validating the schema the MySQL migrations created. The MySQL dialect is
+ * used so ids come from the same sequence tables as in production.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:book_lens_prod;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+		"spring.jpa.hibernate.ddl-auto=validate",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+		"spring.flyway.locations=classpath:db/migration/mysql"
+})
+@ActiveProfiles("prod")
+class ProductionProfileTest {
+
+	@Autowired
+	private Flyway flyway;
+	@Autowired
+	private BookBatchWriter writer;
+	@Autowired
+	private BookRepository bookRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private ApplicationContext context;
+
+	@Test
+	void migratesTheSchemaTheEntitiesExpect() {
+		assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("3");
+
+		Book book = new Book("Migrated title",
+				List.of(new Author("Migrated, Author", 1800, 1870), new Author("Second, Author", 1810, 1880)),
+				List.of("en", "fr"), 7);
+		writer.addAll(List.of(book));
+		writer.flush();
+
+		Book stored = bookRepository.findMostDownloaded(Limit.of(1)).get(0);
+		assertThat(stored.getTitle()).isEqualTo("Migrated title");
+		assertThat(stored.getAuthors()).extracting(Author::getName)
+				.containsExactly("Migrated, Author", "Second, Author");
+		assertThat(stored.getLanguages()).containsExactly("en", "fr");
+	}
+
+	@Test
+	void leavesTheSchemaToFlyway() {
+		assertThat(context.getBeanNamesForType(LegacyColumnMigration.class)).isEmpty();
+		assertThat(flyway.info().applied()).extracting(migration -> migration.getVersion().getVersion())
+				.containsExactly("1", "2", "3");
+	}
+
+	@Test
+	void seedsTheSequenceTablesPastRowsStoredWithIdentityIds() {
+		// a database baselined at version 1 whose rows took identity ids the sequence tables hand out next
+		long firstBook = Math.max(1, nextValue("books_seq") - 49);
+		long firstAuthor = Math.max(1, nextValue("authors_seq") - 49);
+		for (int i = 0; i < 200; i++) {
+			jdbcTemplate.update("INSERT INTO books (id, title, number_of_downloads) VALUES (?, ?, ?)",
+					firstBook + i, "Identity title " + i, i);
+			jdbcTemplate.update("INSERT INTO authors (id, name, date_of_birth_year, date_of_death_year)"
+					+ " VALUES (?, ?, 1800, 1870)", firstAuthor + i, "Identity, Author " + i);
+		}
+
+		new LegacyColumnMigration(jdbcTemplate).seedIdSequences();
+
+		List<Book> books = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			books.add(new Book("Sequence title " + i, new Author("Sequence, Author " + i, 1900, 1970), "en", i));
+		}
+		writer.addAll(books);
+		writer.flush();
+		assertThat(writer.getSaved()).isGreaterThanOrEqualTo(100);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books WHERE title LIKE 'Sequence title %'",
+				Integer.class)).isEqualTo(100);
+	}
+
+	private long nextValue(String sequence) {
+		return jdbcTemplate.queryForObject("SELECT next_val FROM " + sequence, Long.class);
+	}
+
+}
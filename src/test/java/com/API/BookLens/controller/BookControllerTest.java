@@ -0,0 +1,140 @@
+package com.API.BookLens.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.API.BookLens.dto.AuthorResponseDTO;
+import com.API.BookLens.dto.BookResponseDTO;
+import com.API.BookLens.dto.PageResponseDTO;
+import com.API.BookLens.model.Author;
+import com.API.BookLens.model.Book;
+import com.API.BookLens.repository.AuthorRepository;
+import com.API.BookLens.repository.BookRepository;
+import com.API.BookLens.service.SearchIndex;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BookControllerTest {
+
+    private static final int BOOKS = 1000;
+    private static final int AUTHORS = 50;
+    private static final String[] LANGUAGES = { "en", "pt", "fr", "es" };
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private SearchIndex searchIndex;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @BeforeEach
+    void seed() {
+        bookRepository.deleteAllInBatch();
+        authorRepository.deleteAllInBatch();
+        List<Author> authors = new ArrayList<>();
+        for (int i = 0; i < AUTHORS; i++) {
+            authors.add(new Author("Author " + i, 1800 + i, 1850 + i));
+        }
+        authorRepository.saveAll(authors);
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            books.add(new Book("Title " + i, authors.get(i % AUTHORS), LANGUAGES[i % LANGUAGES.length], i));
+        }
+        books.set(0, new Book("Title 0", List.of(authors.get(0), authors.get(1)), List.of("en", "fr"), 0));
+        bookRepository.saveAll(books);
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void pagesThroughEveryBookOnce() throws Exception {
+        Set<Long> ids = new HashSet<>();
+        Long after = 0L;
+        int pages = 0;
+        while (after != null) {
+            PageResponseDTO<BookResponseDTO> page = get("/api/books?size=100&after=" + after,
+                    new TypeReference<>() {
+                    });
+            page.items().forEach(book -> ids.add(book.id()));
+            after = page.next();
+            pages++;
+        }
+
+        assertThat(ids).hasSize(BOOKS);
+        assertThat(pages).isEqualTo(BOOKS / 100 + 1);
+    }
+
+    @Test
+    void filtersByLanguageAndYear() throws Exception {
+        PageResponseDTO<BookResponseDTO> portuguese = get("/api/books/language/pt?size=100",
+                new TypeReference<>() {
+                });
+        PageResponseDTO<AuthorResponseDTO> alive = get("/api/authors/alive?year=1849&size=5",
+                new TypeReference<>() {
+                });
+        PageResponseDTO<BookResponseDTO> french = get("/api/books/language/fr?size=100",
+                new TypeReference<>() {
+                });
+        List<BookResponseDTO> top = get("/api/books/top?limit=3", new TypeReference<>() {
+        });
+
+        assertThat(portuguese.items()).hasSize(100).allMatch(book -> book.languages().equals(List.of("pt")));
+        assertThat(french.items().get(0).title()).isEqualTo("Title 0");
+        assertThat(french.items()).allMatch(book -> book.languages().contains("fr"));
+        assertThat(portuguese.next()).isNotNull();
+        assertThat(alive.items()).hasSize(5).allMatch(author -> author.birthYear() <= 1849 && author.deathYear() >= 1849);
+        assertThat(alive.items().get(0).books()).hasSize(BOOKS / AUTHORS);
+        assertThat(top).extracting(BookResponseDTO::numberOfDownloads).containsExactly(999L, 998L, 997L);
+    }
+
+    @Test
+    void searchesTheLocalCatalog() throws Exception {
+        List<BookResponseDTO> books = get("/api/books/search?q=titel%2051&limit=3", new TypeReference<>() {
+        });
+
+        assertThat(books).extracting(BookResponseDTO::title).containsExactly("Title 519", "Title 518", "Title 517");
+    }
+
+    @Test
+    void streamsTheWholeCatalog() throws Exception {
+        List<BookResponseDTO> books = get("/api/books/export", new TypeReference<>() {
+        });
+
+        assertThat(books).hasSize(BOOKS);
+        assertThat(books.get(0).authors()).containsExactly("Author 0", "Author 1");
+        assertThat(books.get(0).languages()).containsExactly("en", "fr");
+        assertThat(books.get(1).authors()).containsExactly("Author 1");
+    }
+
+    private <T> T get(String path, TypeReference<T> type) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request(path), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return objectMapper.readValue(response.body(), type);
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.API.BookLens.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.API.BookLens.dto.BookDTO;
+import com.API.BookLens.service.ApiClient;
+import com.API.BookLens.service.JsonConverter;
+import com.sun.net.httpserver.HttpServer;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    private static final String LISTING = "{\"count\":0,\"next\":null,\"previous\":null,\"results\":[]}";
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void exportsApiParseRepositoryAndPoolMeters() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/books/", exchange -> {
+            byte[] body = LISTING.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        try {
+            String json = new ApiClient(Duration.ofSeconds(5), 0, 1)
+                    .get("http://localhost:" + server.getAddress().getPort() + "/books/");
+            JsonConverter.fromJson(json, BookDTO.class);
+        } finally {
+            server.stop(0);
+        }
+        assertThat(get("/api/books").statusCode()).isEqualTo(200);
+
+        String scrape = get("/actuator/prometheus").body();
+
+        assertThat(scrape)
+                .containsPattern("booklens_api_requests_seconds_count\\{host=\"localhost\",status=\"200\",?\\} 1\\.0")
+                .containsPattern("booklens_json_parse_seconds_bucket\\{method=\"fromJson\",le=")
+                .containsPattern("booklens_json_payload_bytes_sum\\{method=\"fromJson\",?\\} " + LISTING.length() + "\\.0")
+                .containsPattern("spring_data_repository_invocations_seconds_count\\{[^}]*method=\"findIdsAfter\"")
+                .containsPattern("hikaricp_connections_acquire_seconds_count\\{pool=\"[^\"]+\",?\\} [1-9]")
+                .containsPattern("hikaricp_connections_active\\{pool=\"[^\"]+\",?\\} ")
+                .containsPattern("hikaricp_connections_pending\\{pool=\"[^\"]+\",?\\} ");
+    }
+
+    @Test
+    void switchesSqlLoggingAtRuntime() throws IOException, InterruptedException {
+        String logger = "/actuator/loggers/org.hibernate.SQL";
+        assertThat(get(logger).body()).doesNotContain("\"configuredLevel\":\"DEBUG\"");
+
+        assertThat(post(logger, "{\"configuredLevel\":\"DEBUG\"}").statusCode()).isEqualTo(204);
+        assertThat(get(logger).body()).contains("\"configuredLevel\":\"DEBUG\"");
+
+        post(logger, "{\"configuredLevel\":null}");
+        assertThat(get(logger).body()).doesNotContain("\"configuredLevel\":\"DEBUG\"");
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String json) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.API.BookLens.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+
+import com.API.BookLens.model.Author;
+import com.API.BookLens.model.Book;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the SQL statements issued by the repository calls behind each menu
+ * option against a seeded embedded database. The results are rendered with
+ * toString outside of any transaction, so a missing fetch plan fails with a
+ * LazyInitializationException instead of silently issuing more queries.
+ */
+@SpringBootTest
+class RepositoryStatementCountTest {
+
+    private static final int AUTHORS = 30;
+    private static final int BOOKS_PER_AUTHOR = 5;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        bookRepository.deleteAllInBatch();
+        authorRepository.deleteAllInBatch();
+        for (int a = 0; a < AUTHORS; a++) {
+            Author author = authorRepository.save(new Author("Author " + a, 1800 + a, 1860 + a));
+            for (int b = 0; b < BOOKS_PER_AUTHOR; b++) {
+                String language = b % 2 == 0 ? "en" : "fr";
+                bookRepository.save(new Book("Book " + a + "-" + b, author, language, a * 100 + b));
+            }
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listRegisteredBooksPage() {
+        List<Book> page = bookRepository.findPage(0L, Limit.of(20));
+
+        assertThat(render(() -> page)).hasSize(20);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void listRegisteredAuthorsPage() {
+        List<Author> page = authorRepository.findPageWithBooks(0L, Limit.of(20));
+
+        assertThat(render(() -> page)).hasSize(20);
+        assertThat(page).allSatisfy(author -> assertThat(author.getBooks()).hasSize(BOOKS_PER_AUTHOR));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void listAliveAuthorsOfCertainYear() {
+        List<Author> alive = authorRepository.findAliveInYear(1859);
+
+        assertThat(render(() -> alive)).hasSize(AUTHORS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void listBooksWithACertainLanguage() {
+        List<Book> books = bookRepository.findByLanguage("fr");
+
+        assertThat(render(() -> books)).hasSize(AUTHORS * 2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void listMostPopularBooks() {
+        List<Book> books = bookRepository.findMostDownloaded(Limit.of(10));
+
+        assertThat(render(() -> books)).hasSize(10);
+        assertThat(books).extracting(Book::getNumberOfDownloads).isSortedAccordingTo(Comparator.reverseOrder());
+        assertThat(books.get(0).getNumberOfDownloads()).isEqualTo((AUTHORS - 1) * 100L + BOOKS_PER_AUTHOR - 1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void searchBookByTitleLookups() {
+        assertThat(bookRepository.findFirstByTitle("Book 3-1")).isNotNull();
+        assertThat(authorRepository.findFirstByName("Author 3")).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private static <T> List<T> render(Supplier<List<T>> listing) {
+        List<T> items = listing.get();
+        items.forEach(Object::toString);
+        return items;
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.API.BookLens.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+class ApiClientTest {
+
+    private final AtomicInteger flakyCalls = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+    private HttpServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(16));
+        server.createContext("/flaky", exchange -> {
+            int call = flakyCalls.incrementAndGet();
+            if (call == 1) {
+                respond(exchange, 503, "unavailable");
+            } else if (call == 2) {
+                exchange.getResponseHeaders().add("Retry-After", "0");
+                respond(exchange, 429, "slow down");
+            } else {
+                respond(exchange, 200, "recovered");
+            }
+        });
+        server.createContext("/missing", exchange -> respond(exchange, 404, "{\"detail\":\"Not found.\"}"));
+        server.createContext("/slow", exchange -> {
+            int now = active.incrementAndGet();
+            maxActive.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            active.decrementAndGet();
+            respond(exchange, 200, "done");
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void retriesThrottledAndFailedResponses() throws Exception {
+        ApiClient client = new ApiClient(Duration.ofSeconds(5), 3, 4);
+
+        assertThat(client.get(baseUrl + "/flaky")).isEqualTo("recovered");
+        assertThat(flakyCalls).hasValue(3);
+    }
+
+    @Test
+    void failsOnClientErrorsWithoutRetrying() {
+        ApiClient client = new ApiClient(Duration.ofSeconds(5), 3, 4);
+
+        assertThatThrownBy(() -> client.get(baseUrl + "/missing"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("404");
+    }
+
+    @Test
+    void limitsRequestsInFlightPerHost() {
+        ApiClient client = new ApiClient(Duration.ofSeconds(5), 0, 3);
+
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            futures.add(client.getAsync(baseUrl + "/slow"));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        assertThat(futures).allSatisfy(future -> assertThat(future.join()).isEqualTo("done"));
+        assertThat(maxActive.get()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void aStreamedBodyHoldsItsPermitUntilClosed() throws Exception {
+        ApiClient client = new ApiClient(Duration.ofSeconds(5), 0, 1);
+
+        InputStream stream = client.getStream(baseUrl + "/slow");
+        CompletableFuture<String> queued = client.getAsync(baseUrl + "/slow");
+        Thread.sleep(300);
+        assertThat(queued).isNotDone();
+
+        stream.close();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+    }
+
+    @Test
+    void aStreamedBodyReadToTheEndReleasesItsPermit() throws Exception {
+        ApiClient client = new ApiClient(Duration.ofSeconds(5), 0, 1);
+
+        InputStream stream = client.getStream(baseUrl + "/slow");
+        assertThat(new String(stream.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("done");
+
+        assertThat(client.getAsync(baseUrl + "/slow").get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        stream.close();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] body = text.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+}
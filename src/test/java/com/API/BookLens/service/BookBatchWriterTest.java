@@ -0,0 +1,165 @@
+package com.API.BookLens.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+
+import com.API.BookLens.model.Author;
+import com.API.BookLens.model.Book;
+import com.API.BookLens.repository.AuthorRepository;
+import com.API.BookLens.repository.BookRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "booklens.writer.flush-interval-ms=200")
+class BookBatchWriterTest {
+
+    @Autowired
+    private BookBatchWriter writer;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private CatalogLookupCache lookupCache;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void clean() {
+        writer.flush();
+        bookRepository.deleteAllInBatch();
+        authorRepository.deleteAllInBatch();
+        lookupCache.rebuild();
+    }
+
+    @Test
+    void skipsKnownTitlesAndReusesKnownAuthors() {
+        Author existing = authorRepository.save(new Author("Author 0", 1800, 1870));
+        bookRepository.save(new Book("Title 0", existing, "en", 1));
+        lookupCache.rebuild();
+        long savedBefore = writer.getSaved();
+
+        List<Book> books = books(0, 1000, 40);
+        books.add(new Book("Title 5", new Author("Author 5", 1800, 1870), "en", 5));
+        writer.addAll(books);
+        writer.flush();
+
+        assertThat(writer.getSaved() - savedBefore).isEqualTo(999);
+        assertThat(bookRepository.count()).isEqualTo(1000);
+        assertThat(authorRepository.count()).isEqualTo(40);
+        assertThat(authorRepository.findPageWithBooks(0L, Limit.of(1)).get(0)
+                .getBooks()).hasSize(25);
+    }
+
+    @Test
+    void writesEveryAuthorAndLanguageInBatches() {
+        authorRepository.save(new Author("Editor 0", 1900, 1970));
+        lookupCache.rebuild();
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            List<Author> authors = List.of(new Author("Author " + i % 40, 1800, 1870),
+                    new Author("Editor " + i % 5, 1900, 1970));
+            books.add(new Book("Title " + i, authors, List.of("en", i % 2 == 0 ? "fr" : "de"), i));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        writer.addAll(books);
+        writer.flush();
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(40);
+        assertThat(authorRepository.count()).isEqualTo(45);
+        Book first = bookRepository.findPage(0L, Limit.of(1)).get(0);
+        assertThat(first.getAuthors()).extracting(Author::getName).containsExactly("Author 0", "Editor 0");
+        assertThat(first.getLanguages()).containsExactly("en", "fr");
+        assertThat(bookRepository.findByLanguage("de")).hasSize(250);
+        assertThat(authorRepository.findFirstByName("Editor 0").getId())
+                .isEqualTo(first.getAuthors().get(1).getId());
+    }
+
+    @Test
+    void skipsBooksTheDatabaseRejectsAndWritesTheRestOfTheirBatch() {
+        long savedBefore = writer.getSaved();
+        long rejectedBefore = writer.getRejected();
+        List<Book> books = books(0, 100, 10);
+        books.set(10, new Book("x".repeat(300), new Author("Author 0", 1800, 1870), "en", 10));
+        books.set(20, new Book("Title 20", new Author("Author 0", 1800, 1870), "a-language-code-too-long", 20));
+        books.set(30, new Book("Title 30", new Author("y".repeat(300), 1800, 1870), "en", 30));
+
+        writer.addAll(books);
+        writer.flush();
+
+        assertThat(writer.getSaved() - savedBefore).isEqualTo(97);
+        assertThat(writer.getRejected() - rejectedBefore).isEqualTo(3);
+        assertThat(bookRepository.count()).isEqualTo(97);
+        assertThat(authorRepository.count()).isEqualTo(10);
+        assertThat(bookRepository.findFirstByTitle("Title 99")).isNotNull();
+        assertThat(bookRepository.findFirstByTitle("Title 20")).isNull();
+    }
+
+    @Test
+    void flushesOnTimerWhenBatchIsNotFull() throws InterruptedException {
+        writer.addAll(books(0, 3, 3));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (bookRepository.count() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertThat(bookRepository.count()).isEqualTo(3);
+    }
+
+    /**
+     * Compares the statements the writer issues with the lookup-and-save per
+     * book path the menu uses for single searches. IngestBenchmark measures
+     * the time of both.
+     */
+    @Test
+    void issuesAFractionOfTheStatementsOfSavingOneByOne() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        int rows = 3_000;
+
+        statistics.clear();
+        for (Book book : books(0, rows, 200)) {
+            if (bookRepository.findFirstByTitle(book.getTitle()) == null) {
+                Author author = authorRepository.findFirstByName(book.getAuthors().get(0).getName());
+                if (author != null) {
+                    book.setAuthors(List.of(author));
+                } else {
+                    authorRepository.save(book.getAuthors().get(0));
+                }
+                bookRepository.save(book);
+            }
+        }
+        long oneByOneStatements = statistics.getPrepareStatementCount();
+        lookupCache.rebuild();
+
+        statistics.clear();
+        writer.addAll(books(rows, rows, 200));
+        writer.flush();
+        long batchedStatements = statistics.getPrepareStatementCount();
+
+        assertThat(bookRepository.count()).isEqualTo(2L * rows);
+        assertThat(batchedStatements).isLessThan(oneByOneStatements / 10);
+    }
+
+    private static List<Book> books(int from, int count, int authors) {
+        List<Book> books = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            Author author = new Author("Author " + (i % authors), 1800, 1870);
+            books.add(new Book("Title " + i, author, "en", i));
+        }
+        return books;
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.API.BookLens.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.API.BookLens.dto.AuthorDTO;
+import com.API.BookLens.dto.BookResultDTO;
+import com.google.gson.Gson;
+
+class BookSourceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void mirrorSearchesTitlesAndAuthorsByDownloads() throws Exception {
+        MirrorBookSource mirror = new MirrorBookSource(dump(
+                result(1, "Moby Dick; Or, The Whale", "Melville, Herman", 100),
+                result(2, "Typee", "Melville, Herman", 300),
+                result(3, "The Whale Rider", "Ihimaera, Witi", 200)));
+
+        assertThat(titles(mirror.search("WHALE").get())).containsExactly("The Whale Rider", "Moby Dick; Or, The Whale");
+        assertThat(titles(mirror.search("melville whale").get())).containsExactly("Moby Dick; Or, The Whale");
+        assertThat(mirror.search("tolstoy").get()).isEmpty();
+        assertThat(titles(mirror.fetchByIds(List.of(2, 3, 99)).get())).containsExactlyInAnyOrder("Typee",
+                "The Whale Rider");
+    }
+
+    @Test
+    void searchAllRunsEveryQuery() throws Exception {
+        MirrorBookSource mirror = new MirrorBookSource(dump(
+                result(1, "Moby Dick", "Melville, Herman", 100),
+                result(2, "Emma", "Austen, Jane", 300)));
+
+        Map<String, List<BookResultDTO>> results = mirror.searchAll(List.of("emma", "moby", "nothing")).get();
+
+        assertThat(results).containsOnlyKeys("emma", "moby", "nothing");
+        assertThat(titles(results.get("emma"))).containsExactly("Emma");
+        assertThat(results.get("nothing")).isEmpty();
+    }
+
+    @Test
+    void compositeFallsBackWhenASourceFailsOrFindsNothing() throws Exception {
+        MirrorBookSource mirror = new MirrorBookSource(dump(result(1, "Moby Dick", "Melville, Herman", 100)));
+        FixedSource upstream = new FixedSource(List.of(
+                result(1, "Moby Dick (upstream)", "Melville, Herman", 150),
+                result(2, "Emma", "Austen, Jane", 300)));
+        CompositeBookSource composite = new CompositeBookSource(List.of(mirror, upstream));
+
+        assertThat(titles(composite.search("moby").get())).containsExactly("Moby Dick");
+        assertThat(titles(composite.search("emma").get())).containsExactly("Emma");
+        assertThat(titles(composite.fetchByIds(List.of(1, 2)).get())).containsExactlyInAnyOrder("Moby Dick", "Emma");
+        assertThat(upstream.requestedIds).containsExactly(List.of(2));
+
+        CompositeBookSource broken = new CompositeBookSource(
+                List.of(new MirrorBookSource(directory.resolve("missing.jsonl")), upstream));
+        assertThat(titles(broken.search("emma").get())).containsExactly("Emma");
+        assertThat(titles(broken.fetchByIds(List.of(1)).get())).containsExactly("Moby Dick (upstream)");
+    }
+
+    @Test
+    void compositeFailsWhenTheLastSourceFails() {
+        CompositeBookSource composite = new CompositeBookSource(
+                List.of(new MirrorBookSource(directory.resolve("missing.jsonl"))));
+
+        assertThatThrownBy(() -> composite.search("emma").get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    void mirrorSkipsMalformedLines() throws Exception {
+        Path file = dump(result(1, "Moby Dick", "Melville, Herman", 100), result(2, "Emma", "Austen, Jane", 50));
+        List<String> lines = new ArrayList<>(Files.readAllLines(file));
+        lines.add(1, "{\"id\": 3, \"title\": ");
+        lines.add("not json");
+        Files.write(file, lines);
+        MirrorBookSource mirror = new MirrorBookSource(file);
+
+        assertThat(titles(mirror.search("emma").get())).containsExactly("Emma");
+        assertThat(titles(mirror.fetchByIds(List.of(1, 2)).get())).containsExactlyInAnyOrder("Moby Dick", "Emma");
+        assertThat(mirror.getMalformedLines()).isEqualTo(2);
+    }
+
+    @Test
+    void mirrorRemembersAFailedLoad() throws Exception {
+        Path missing = directory.resolve("late.jsonl");
+        MirrorBookSource mirror = new MirrorBookSource(missing);
+        assertThat(mirror.search("emma")).isCompletedExceptionally();
+
+        Files.write(missing, List.of(new Gson().toJson(result(2, "Emma", "Austen, Jane", 50))));
+
+        assertThatThrownBy(() -> mirror.search("emma").get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IOException.class);
+    }
+
+    private Path dump(BookResultDTO... results) throws IOException {
+        Gson gson = new Gson();
+        List<String> lines = new ArrayList<>();
+        for (BookResultDTO result : results) {
+            lines.add(gson.toJson(result));
+        }
+        Path file = Files.createTempFile(directory, "mirror", ".jsonl");
+        Files.write(file, lines);
+        return file;
+    }
+
+    private static BookResultDTO result(int id, String title, String author, int downloads) {
+        return new BookResultDTO(id, title, List.of(new AuthorDTO(author, null, null)), List.of("en"), downloads);
+    }
+
+    private static List<String> titles(List<BookResultDTO> results) {
+        return results.stream().map(BookResultDTO::title).toList();
+    }
+
+    /**
+     * Answers from a fixed list, recording the ids it is asked for.
+     */
+    private static final class FixedSource implements BookSource {
+        private final List<BookResultDTO> books;
+        private final List<List<Integer>> requestedIds = new ArrayList<>();
+
+        private FixedSource(List<BookResultDTO> books) {
+            this.books = books;
+        }
+
+        @Override
+        public String name() {
+            return "fixed";
+        }
+
+        @Override
+        public CompletableFuture<List<BookResultDTO>> search(String query) {
+            return CompletableFuture.completedFuture(books.stream()
+                    .filter(book -> book.title().toLowerCase().contains(query))
+                    .toList());
+        }
+
+        @Override
+        public CompletableFuture<List<BookResultDTO>> fetchByIds(Collection<Integer> ids) {
+            requestedIds.add(List.copyOf(ids));
+            return CompletableFuture.completedFuture(books.stream().filter(book -> ids.contains(book.id())).toList());
+        }
+    }
+
+}
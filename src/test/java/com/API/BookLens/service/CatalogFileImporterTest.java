@@ -0,0 +1,147 @@
+package com.API.BookLens.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.API.BookLens.dto.AuthorDTO;
+import com.API.BookLens.dto.BookResultDTO;
+import com.API.BookLens.model.ImportCheckpoint;
+import com.API.BookLens.repository.AuthorRepository;
+import com.API.BookLens.repository.BookRepository;
+import com.API.BookLens.repository.ImportCheckpointRepository;
+import com.google.gson.Gson;
+
+@SpringBootTest(properties = {
+        "booklens.import.chunk-bytes=8192",
+        "booklens.import.parallelism=4"
+})
+class CatalogFileImporterTest {
+
+    private static final int BOOKS = 2000;
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private CatalogFileImporter importer;
+    @Autowired
+    private BookBatchWriter writer;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private ImportCheckpointRepository checkpointRepository;
+    @Autowired
+    private CatalogLookupCache lookupCache;
+
+    private final Gson gson = new Gson();
+
+    @BeforeEach
+    void clean() {
+        writer.flush();
+        checkpointRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        authorRepository.deleteAllInBatch();
+        lookupCache.rebuild();
+    }
+
+    @Test
+    void importsEveryLineInParallelChunks() throws IOException, InterruptedException {
+        List<String> lines = lines();
+        lines.add(500, "{\"id\": 9999, \"title\": ");
+        lines.add(1000, gson.toJson(new BookResultDTO(9998, null, List.of(), List.of("en"), 1)));
+        lines.add(1500, "");
+        Path dump = write(lines);
+
+        CatalogFileImporter.ImportReport report = importer.importFile(dump);
+
+        assertThat(report.lines()).isEqualTo(BOOKS + 2);
+        assertThat(report.books()).isEqualTo(BOOKS);
+        assertThat(report.empty()).isEqualTo(1);
+        assertThat(report.malformed()).isEqualTo(1);
+        assertThat(report.bytes()).isEqualTo(Files.size(dump));
+        assertThat(bookRepository.count()).isEqualTo(BOOKS);
+        assertThat(authorRepository.count()).isEqualTo(101);
+        assertThat(checkpointRepository.count()).isZero();
+    }
+
+    @Test
+    void skipsBooksTheDatabaseRejects() throws IOException, InterruptedException {
+        List<String> lines = lines();
+        lines.add(700, gson.toJson(new BookResultDTO(9999, "t".repeat(300), List.of(), List.of("en"), 1)));
+        // the Gutendex id of the first book under another title
+        lines.add(1400, gson.toJson(new BookResultDTO(1, "Reissued title", List.of(), List.of("en"), 1)));
+        Path dump = write(lines);
+
+        CatalogFileImporter.ImportReport report = importer.importFile(dump);
+
+        assertThat(report.books()).isEqualTo(BOOKS + 2);
+        assertThat(report.rejected()).isEqualTo(2);
+        assertThat(bookRepository.count()).isEqualTo(BOOKS);
+        assertThat(bookRepository.findFirstByTitle("Reissued title")).isNull();
+        assertThat(checkpointRepository.count()).isZero();
+    }
+
+    @Test
+    void resumesAfterTheCheckpoint() throws IOException, InterruptedException {
+        List<String> lines = lines();
+        Path dump = write(lines);
+        long half = 0;
+        for (String line : lines.subList(0, BOOKS / 2)) {
+            half += line.getBytes(StandardCharsets.UTF_8).length + 1;
+        }
+        String key = dump.toAbsolutePath().normalize().toString();
+        checkpointRepository.save(new ImportCheckpoint(key, Files.size(dump), half, Instant.now()));
+
+        CatalogFileImporter.ImportReport report = importer.importFile(dump);
+
+        assertThat(report.resumedAt()).isEqualTo(half);
+        assertThat(report.books()).isEqualTo(BOOKS / 2);
+        assertThat(bookRepository.count()).isEqualTo(BOOKS / 2);
+        assertThat(checkpointRepository.findById(key)).isEmpty();
+    }
+
+    @Test
+    void ignoresTheCheckpointOfADifferentFile() throws IOException, InterruptedException {
+        Path dump = write(lines());
+        String key = dump.toAbsolutePath().normalize().toString();
+        checkpointRepository.save(new ImportCheckpoint(key, Files.size(dump) - 1, 100, Instant.now()));
+
+        CatalogFileImporter.ImportReport report = importer.importFile(dump);
+
+        assertThat(report.resumedAt()).isZero();
+        assertThat(bookRepository.count()).isEqualTo(BOOKS);
+    }
+
+    private List<String> lines() {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            List<AuthorDTO> authors = new ArrayList<>();
+            authors.add(new AuthorDTO("Author " + i % 100, 1800, 1870));
+            if (i % 10 == 0) {
+                authors.add(new AuthorDTO("Editor, The", null, null));
+            }
+            lines.add(gson.toJson(new BookResultDTO(i + 1, "Imported title " + i, authors, List.of("en"), i)));
+        }
+        return lines;
+    }
+
+    private Path write(List<String> lines) throws IOException {
+        return Files.write(directory.resolve("catalog.jsonl"), lines);
+    }
+
+}
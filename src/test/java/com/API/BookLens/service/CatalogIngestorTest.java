@@ -0,0 +1,127 @@
+package com.API.BookLens.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.API.BookLens.dto.AuthorDTO;
+import com.API.BookLens.dto.BookDTO;
+import com.API.BookLens.dto.BookResultDTO;
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+class CatalogIngestorTest {
+
+    private static final int PAGE_SIZE = 32;
+    private static final int TOTAL = 1000;
+
+    private final Set<String> requestedPages = ConcurrentHashMap.newKeySet();
+    private HttpServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/books/", exchange -> {
+            int page = Math.max(1, CatalogIngestor.pageNumber(exchange.getRequestURI().toString()));
+            requestedPages.add(String.valueOf(page));
+            respond(exchange, pagedListing(page));
+        });
+        server.createContext("/cursor/", exchange -> {
+            String query = exchange.getRequestURI().getRawQuery();
+            int step = query == null ? 1 : Integer.parseInt(query.substring("cursor=".length()));
+            respond(exchange, cursorListing(step));
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    private GutendexBookSource gutendex() {
+        return new GutendexBookSource(new ApiClient(Duration.ofSeconds(5), 3, 8), null, baseUrl + "/books/");
+    }
+
+    @Test
+    void followsEveryPageAndFlushesInBatches() throws IOException, InterruptedException {
+        CatalogIngestor ingestor = new CatalogIngestor(gutendex(), 4, 100);
+        List<List<BookResultDTO>> batches = new ArrayList<>();
+
+        CatalogIngestor.IngestReport report = ingestor.ingest(baseUrl + "/books/", batches::add);
+
+        int expectedPages = (TOTAL + PAGE_SIZE - 1) / PAGE_SIZE;
+        assertThat(report.pages()).isEqualTo(expectedPages);
+        assertThat(report.failedPages()).isZero();
+        assertThat(report.rows()).isEqualTo(TOTAL);
+        assertThat(requestedPages).hasSize(expectedPages);
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(100));
+        assertThat(batches.stream().flatMap(List::stream).map(BookResultDTO::title).collect(Collectors.toSet()))
+                .hasSize(TOTAL);
+    }
+
+    @Test
+    void walksNextLinksWithoutPageParameter() throws IOException, InterruptedException {
+        CatalogIngestor ingestor = new CatalogIngestor(gutendex(), 4, 100);
+        List<BookResultDTO> rows = new ArrayList<>();
+
+        CatalogIngestor.IngestReport report = ingestor.ingest(baseUrl + "/cursor/", rows::addAll);
+
+        assertThat(report.pages()).isEqualTo(3);
+        assertThat(rows).hasSize(3 * PAGE_SIZE);
+    }
+
+    @Test
+    void replacesPageParameter() {
+        assertThat(CatalogIngestor.withPage("https://gutendex.com/books/?page=2&search=dickens", 7))
+                .isEqualTo("https://gutendex.com/books/?page=7&search=dickens");
+        assertThat(CatalogIngestor.pageNumber("https://gutendex.com/books/?search=a&page=12")).isEqualTo(12);
+        assertThat(CatalogIngestor.pageNumber("https://gutendex.com/books/?search=a")).isEqualTo(-1);
+    }
+
+    private String pagedListing(int page) {
+        int totalPages = (TOTAL + PAGE_SIZE - 1) / PAGE_SIZE;
+        String next = page < totalPages ? baseUrl + "/books/?page=" + (page + 1) : null;
+        return new Gson().toJson(new BookDTO(TOTAL, next, null, results(page)));
+    }
+
+    private String cursorListing(int step) {
+        String next = step < 3 ? baseUrl + "/cursor/?cursor=" + (step + 1) : null;
+        return new Gson().toJson(new BookDTO(3 * PAGE_SIZE, next, null, results(step)));
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static List<BookResultDTO> results(int page) {
+        List<BookResultDTO> results = new ArrayList<>();
+        for (int i = (page - 1) * PAGE_SIZE; i < Math.min(page * PAGE_SIZE, TOTAL); i++) {
+            results.add(new BookResultDTO(i, "Title " + i, List.of(new AuthorDTO("Author " + (i % 50), 1800, 1870)),
+                    List.of("en"), i));
+        }
+        return results;
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.API.BookLens.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.API.BookLens.model.Author;
+import com.API.BookLens.model.Book;
+import com.API.BookLens.repository.AuthorRepository;
+import com.API.BookLens.repository.BookRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class CatalogLookupCacheTest {
+
+    @Autowired
+    private CatalogLookupCache lookupCache;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Author tolstoy;
+
+    @BeforeEach
+    void seed() {
+        bookRepository.deleteAllInBatch();
+        authorRepository.deleteAllInBatch();
+        tolstoy = authorRepository.save(new Author("Tolstoy, Leo", 1828, 1910));
+        bookRepository.save(new Book("War and Peace", tolstoy, "en", 100));
+        lookupCache.rebuild();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void unknownNamesNeverReachTheDatabase() {
+        List<String> titles = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            titles.add("Unknown title " + i);
+        }
+
+        Set<String> known = lookupCache.filterKnownTitles(titles);
+        Map<String, Long> ids = lookupCache.resolveAuthorIds(List.of("Nobody, A.", "Nobody, B."));
+
+        assertThat(known).isEmpty();
+        assertThat(ids).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1);
+        assertThat(lookupCache.getStats().titleNegatives()).isGreaterThanOrEqualTo(990);
+    }
+
+    @Test
+    void knownNamesAreConfirmedOnceThenCached() {
+        assertThat(lookupCache.isKnownTitle("War and Peace")).isTrue();
+        assertThat(lookupCache.isKnownTitle("War and Peace")).isTrue();
+        assertThat(lookupCache.resolveAuthorIds(List.of("Tolstoy, Leo"))).containsEntry("Tolstoy, Leo", tolstoy.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void recordedSavesAreVisibleWithoutQueries() {
+        lookupCache.recordTitles(List.of("Anna Karenina"));
+        lookupCache.recordAuthor("Chekhov, Anton", 42L);
+
+        assertThat(lookupCache.isKnownTitle("Anna Karenina")).isTrue();
+        assertThat(lookupCache.resolveAuthorIds(List.of("Chekhov, Anton"))).containsEntry("Chekhov, Anton", 42L);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void bloomFilterStaysNearItsFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            filter.add("present " + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            assertThat(filter.mightContain("present " + i)).isTrue();
+            if (filter.mightContain("absent " + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+}
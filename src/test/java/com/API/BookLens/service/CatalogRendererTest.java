@@ -0,0 +1,101 @@
+package com.API.BookLens.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.API.BookLens.dto.AuthorResponseDTO;
+import com.API.BookLens.dto.BookResponseDTO;
+import com.API.BookLens.dto.BookRowDTO;
+import com.API.BookLens.model.Author;
+import com.API.BookLens.model.Book;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+class CatalogRendererTest {
+
+    private static final BookResponseDTO MOBY_DICK = new BookResponseDTO(7L, "Moby Dick; or, \"The Whale\"",
+            List.of("Melville, Herman"), List.of("en"), 100L);
+
+    @Test
+    void rendersTextInTheLayoutOfTheEntities() throws IOException {
+        Author author = new Author("Dickens, Charles", 1812, 0);
+        Book book = new Book("A Tale of Two Cities", List.of(author, new Author("Browne, Hablot K.", 1815, 1882)),
+                List.of("en", "fr"), 2000);
+        author.getBooks().add(book);
+
+        StringWriter out = new StringWriter();
+        try (CatalogRenderer renderer = new CatalogRenderer(out, CatalogRenderer.Format.TEXT)) {
+            renderer.book(BookMapper.toResponse(book));
+            renderer.author(BookMapper.toResponse(author));
+        }
+
+        assertThat(out.toString()).isEqualTo(book + "\n" + author + "\n");
+    }
+
+    @Test
+    void quotesCsvFieldsOnlyWhenNeeded() throws IOException {
+        StringWriter out = new StringWriter();
+        try (CatalogRenderer renderer = new CatalogRenderer(out, CatalogRenderer.Format.CSV)) {
+            renderer.book(MOBY_DICK);
+            renderer.book(new BookRowDTO(8L, "Walden", List.of(9L), List.of("Thoreau"), List.of("en", "fr"), null));
+        }
+
+        assertThat(out.toString()).isEqualTo("id,title,authors,languages,downloads\r\n"
+                + "7,\"Moby Dick; or, \"\"The Whale\"\"\",\"Melville, Herman\",en,100\r\n"
+                + "8,Walden,Thoreau,en; fr,\r\n");
+    }
+
+    @Test
+    void writesOneParsableJsonObjectPerLine() throws IOException {
+        AuthorResponseDTO author = new AuthorResponseDTO(3L, "Tab\there \\ back", 1819, 0,
+                List.of("Line\nbreak", "Bell\u0007"));
+        StringWriter out = new StringWriter();
+        try (CatalogRenderer renderer = new CatalogRenderer(out, CatalogRenderer.Format.JSONL)) {
+            renderer.book(MOBY_DICK);
+            renderer.author(author);
+        }
+
+        String[] lines = out.toString().split("\n");
+        assertThat(lines).hasSize(2);
+        Gson gson = new Gson();
+        assertThat(gson.fromJson(lines[0], BookResponseDTO.class)).isEqualTo(MOBY_DICK);
+        assertThat(gson.fromJson(lines[1], AuthorResponseDTO.class)).isEqualTo(author);
+        assertThat(gson.fromJson(lines[1], JsonObject.class).keySet())
+                .containsExactly("id", "name", "birthYear", "deathYear", "books");
+    }
+
+    @Test
+    void writesLargeListingsInBlocks() throws IOException {
+        int[] writes = new int[1];
+        StringWriter target = new StringWriter();
+        StringWriter counting = new StringWriter() {
+            @Override
+            public void write(char[] chars, int offset, int length) {
+                writes[0]++;
+                target.write(chars, offset, length);
+            }
+        };
+        try (CatalogRenderer renderer = new CatalogRenderer(counting, CatalogRenderer.Format.JSONL)) {
+            for (int i = 0; i < 10_000; i++) {
+                renderer.book(MOBY_DICK);
+            }
+        }
+
+        assertThat(target.toString().lines()).hasSize(10_000);
+        assertThat(writes[0]).isLessThan(target.toString().length() / 8192 + 2);
+    }
+
+    @Test
+    void picksTheFormatFromTheExtension() {
+        assertThat(CatalogRenderer.Format.forFile(Path.of("books.CSV"))).isEqualTo(CatalogRenderer.Format.CSV);
+        assertThat(CatalogRenderer.Format.forFile(Path.of("books.jsonl"))).isEqualTo(CatalogRenderer.Format.JSONL);
+        assertThat(CatalogRenderer.Format.forFile(Path.of("books.txt"))).isEqualTo(CatalogRenderer.Format.TEXT);
+    }
+
+}
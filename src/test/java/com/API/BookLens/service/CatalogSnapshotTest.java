@@ -0,0 +1,147 @@
+package com.API.BookLens.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.API.BookLens.dto.AuthorResponseDTO;
+import com.API.BookLens.dto.AuthorRowDTO;
+import com.API.BookLens.dto.BookResponseDTO;
+import com.API.BookLens.dto.BookRowDTO;
+
+class CatalogSnapshotTest {
+
+    private static final String[] LANGUAGES = { "en", "pt", "fr", "es", "de", "fi" };
+
+    @Test
+    void answersLikeTheRepositoryQueries() {
+        Random random = new Random(42);
+        List<AuthorRowDTO> authors = new ArrayList<>();
+        for (long id = 1; id <= 2_000; id++) {
+            int birth = random.nextInt(10) == 0 ? 0 : 1500 + random.nextInt(450);
+            int death = random.nextInt(10) == 0 ? 0 : birth + 20 + random.nextInt(80);
+            authors.add(new AuthorRowDTO(id, "Author " + id, birth, death));
+        }
+        List<BookRowDTO> books = new ArrayList<>();
+        for (long id = 1; id <= 10_000; id++) {
+            List<Long> authorIds = new ArrayList<>(List.of(1 + (long) random.nextInt(authors.size())));
+            List<String> languages = new ArrayList<>(List.of(LANGUAGES[random.nextInt(LANGUAGES.length)]));
+            if (id % 7 == 0) {
+                long coAuthor = 1 + random.nextInt(authors.size());
+                if (!authorIds.contains(coAuthor)) {
+                    authorIds.add(coAuthor);
+                }
+                String language = LANGUAGES[random.nextInt(LANGUAGES.length)];
+                if (!languages.contains(language)) {
+                    languages.add(language);
+                }
+            }
+            books.add(new BookRowDTO(id, "Title " + id, authorIds,
+                    authorIds.stream().map(authorId -> "Author " + authorId).toList(), languages,
+                    (long) random.nextInt(100_000)));
+        }
+        CatalogSnapshot snapshot = build(authors, books);
+
+        for (int year = -10; year <= 2_000; year += 7) {
+            int y = year;
+            List<Long> expected = authors.stream()
+                    .filter(author -> author.dateOfBirthYear() <= y && author.dateOfDeathYear() >= y)
+                    .map(AuthorRowDTO::id).sorted().toList();
+            assertThat(snapshot.aliveInYear(year)).extracting(AuthorResponseDTO::id)
+                    .containsExactlyInAnyOrderElementsOf(expected);
+        }
+        assertThat(snapshot.byLanguage("fi")).extracting(BookResponseDTO::id).isSorted()
+                .containsExactlyElementsOf(books.stream().filter(book -> book.languages().contains("fi"))
+                        .map(BookRowDTO::id).toList());
+        assertThat(snapshot.byLanguage("fi")).allSatisfy(book -> assertThat(book.languages()).contains("fi"));
+        assertThat(snapshot.byLanguage("la")).isEmpty();
+        assertThat(snapshot.mostDownloaded(10)).extracting(BookResponseDTO::numberOfDownloads)
+                .containsExactlyElementsOf(books.stream().map(BookRowDTO::numberOfDownloads)
+                        .sorted(Comparator.reverseOrder()).limit(10).toList());
+
+        AuthorResponseDTO first = snapshot.aliveInYear(0).stream().findFirst().orElseThrow();
+        assertThat(first.books()).containsExactlyInAnyOrderElementsOf(books.stream()
+                .filter(book -> book.authorIds().contains(first.id())).map(BookRowDTO::title).toList());
+
+        BookRowDTO coAuthored = books.stream().filter(book -> book.authorIds().size() == 2).findFirst().orElseThrow();
+        assertThat(snapshot.byLanguage(coAuthored.languages().get(0)))
+                .filteredOn(book -> book.id().equals(coAuthored.id()))
+                .singleElement()
+                .satisfies(book -> {
+                    assertThat(book.authors()).containsExactlyElementsOf(coAuthored.authors());
+                    assertThat(book.languages()).containsExactlyElementsOf(coAuthored.languages());
+                });
+    }
+
+    @Test
+    void answersTheSameAfterASaveAndLoad(@TempDir Path directory) throws IOException {
+        List<AuthorRowDTO> authors = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            authors.add(new AuthorRowDTO(id, "Autor " + id + ", Zoë", id % 11 == 0 ? 0 : 1700 + (int) id,
+                    id % 13 == 0 ? 0 : 1760 + (int) id));
+        }
+        List<BookRowDTO> books = new ArrayList<>();
+        for (long id = 1; id <= 1_000; id++) {
+            List<Long> authorIds = id % 5 == 0 ? List.of(1 + id % 300, 1 + (id + 1) % 300) : List.of(1 + id % 300);
+            String language = LANGUAGES[(int) id % LANGUAGES.length];
+            List<String> languages = id % 3 == 0 ? List.of(language, "la") : List.of(language);
+            books.add(new BookRowDTO(id, "Título " + id, authorIds,
+                    authorIds.stream().map(authorId -> "Autor " + authorId + ", Zoë").toList(), languages,
+                    id * 7 % 1_009));
+        }
+        CatalogSnapshot snapshot = build(authors, books);
+
+        Path file = directory.resolve("snapshots/catalog.snapshot");
+        long bytes = snapshot.save(file);
+        CatalogSnapshot loaded = CatalogSnapshot.load(file);
+
+        assertThat(bytes).isPositive();
+        assertThat(directory.resolve("snapshots")).isDirectoryNotContaining("glob:**.partial");
+        assertThat(loaded.getBuiltAt()).isEqualTo(snapshot.getBuiltAt().truncatedTo(ChronoUnit.MILLIS));
+        assertThat(loaded.getBookCount()).isEqualTo(snapshot.getBookCount());
+        assertThat(loaded.getAuthorCount()).isEqualTo(snapshot.getAuthorCount());
+        assertThat(loaded.getLanguages()).isEqualTo(snapshot.getLanguages());
+        for (int year = 1690; year <= 2070; year += 10) {
+            assertThat(loaded.aliveInYear(year)).isEqualTo(snapshot.aliveInYear(year));
+        }
+        for (String language : snapshot.getLanguages()) {
+            assertThat(loaded.byLanguage(language)).isEqualTo(snapshot.byLanguage(language));
+        }
+        assertThat(loaded.mostDownloaded(CatalogSnapshot.TOP_K))
+                .isEqualTo(snapshot.mostDownloaded(CatalogSnapshot.TOP_K));
+        assertThat(loaded.footprintBytes()).isEqualTo(snapshot.footprintBytes());
+    }
+
+    @Test
+    void rejectsAFileThatIsNotASnapshot() {
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        assertThatThrownBy(() -> {
+            try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+                out.write("{\"id\": 1}".getBytes(StandardCharsets.UTF_8));
+            }
+            CatalogSnapshot.readFrom(new ByteArrayInputStream(gzipped.toByteArray()));
+        }).isInstanceOf(IOException.class).hasMessageContaining("Not a catalog snapshot");
+    }
+
+    private static CatalogSnapshot build(List<AuthorRowDTO> authors, List<BookRowDTO> books) {
+        CatalogSnapshot.Builder builder = new CatalogSnapshot.Builder();
+        authors.forEach(builder::addAuthor);
+        books.forEach(builder::addBook);
+        return builder.build();
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.API.BookLens.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.API.BookLens.dto.AuthorDTO;
+import com.API.BookLens.dto.BookResultDTO;
+import com.API.BookLens.model.Author;
+import com.API.BookLens.model.Book;
+import com.API.BookLens.repository.AuthorRepository;
+import com.API.BookLens.repository.BookRepository;
+
+@SpringBootTest
+class ConcurrentIngestTest {
+
+    private static final int WORKERS = 8;
+    private static final int TITLES = 200;
+    private static final int AUTHORS = 20;
+    private static final int BATCH = 25;
+
+    @Autowired
+    private BookBatchWriter writer;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private CatalogLookupCache lookupCache;
+    @Autowired
+    private SearchIndex searchIndex;
+    @Autowired
+    private IngestLocks ingestLocks;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void clean() {
+        writer.flush();
+        bookRepository.deleteAllInBatch();
+        authorRepository.deleteAllInBatch();
+        lookupCache.rebuild();
+    }
+
+    @Test
+    void parallelWorkersIngestOverlappingResultsWithoutConflicts() throws Exception {
+        List<BookResultDTO> results = new ArrayList<>();
+        for (int i = 0; i < TITLES; i++) {
+            List<AuthorDTO> authors = new ArrayList<>();
+            authors.add(new AuthorDTO("Contested author " + i % AUTHORS, 1800, 1870));
+            if (i % 10 == 0) {
+                authors.add(new AuthorDTO("Editor, Common", 1850, 1920));
+            }
+            results.add(new BookResultDTO(i + 1, "Contested title " + i, authors, List.of("en"), i));
+        }
+        // every worker searches with its own words, so no search is answered by the local index
+        Map<String, BookResultDTO> byQuery = new HashMap<>();
+        for (int worker = 0; worker < WORKERS; worker++) {
+            for (int i = 0; i < TITLES; i++) {
+                byQuery.put(query(worker, i), results.get(i));
+            }
+        }
+        BookSearchService search = new BookSearchService(authorRepository, bookRepository, lookupCache,
+                new QuerySource(byQuery), searchIndex, ingestLocks, transactionManager);
+        long savedBefore = writer.getSaved();
+        AtomicInteger savedBySearch = new AtomicInteger();
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(WORKERS);
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int worker = 0; worker < WORKERS; worker++) {
+                int id = worker;
+                List<Integer> order = new ArrayList<>();
+                for (int i = 0; i < TITLES; i++) {
+                    order.add(i);
+                }
+                Collections.shuffle(order, new Random(id));
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    if (id % 2 == 0) {
+                        for (int i : order) {
+                            if (search.searchAndSave(query(id, i)).status() == BookSearchService.Status.SAVED) {
+                                savedBySearch.incrementAndGet();
+                            }
+                        }
+                    } else {
+                        for (int from = 0; from < TITLES; from += BATCH) {
+                            List<Book> books = new ArrayList<>();
+                            for (int i : order.subList(from, from + BATCH)) {
+                                books.add(BookMapper.toBook(results.get(i)));
+                            }
+                            writer.addAll(books);
+                            writer.flush();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(savedBySearch.get() + writer.getSaved() - savedBefore).isEqualTo(TITLES);
+        assertThat(bookRepository.count()).isEqualTo(TITLES);
+        assertThat(authorRepository.count()).isEqualTo(AUTHORS + 1);
+        for (Book book : bookRepository.findPage(0L, Limit.of(TITLES))) {
+            int i = Integer.parseInt(book.getTitle().substring("Contested title ".length()));
+            List<String> expected = results.get(i).authors().stream().map(AuthorDTO::name).toList();
+            assertThat(book.getAuthors()).extracting(Author::getName).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void aBookTheDatabaseRejectsLeavesNoAuthorsBehind() {
+        BookResultDTO result = new BookResultDTO(1, "Rejected title",
+                List.of(new AuthorDTO("Orphan, Would Be", 1800, 1870)), List.of("a-language-code-too-long"), 1);
+        BookSearchService search = new BookSearchService(authorRepository, bookRepository, lookupCache,
+                new QuerySource(Map.of("zqrejected", result)), searchIndex, ingestLocks, transactionManager);
+
+        assertThatThrownBy(() -> search.searchAndSave("zqrejected"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(bookRepository.count()).isZero();
+        assertThat(authorRepository.count()).isZero();
+    }
+
+    private static String query(int worker, int title) {
+        return "zq" + worker + "x" + title;
+    }
+
+    /**
+     * Answers each query with the one result registered for it.
+     */
+    private static final class QuerySource implements BookSource {
+        private final Map<String, BookResultDTO> byQuery;
+
+        private QuerySource(Map<String, BookResultDTO> byQuery) {
+            this.byQuery = byQuery;
+        }
+
+        @Override
+        public String name() {
+            return "query";
+        }
+
+        @Override
+        public CompletableFuture<List<BookResultDTO>> search(String query) {
+            BookResultDTO result = byQuery.get(query);
+            return CompletableFuture.completedFuture(result == null ? List.of() : List.of(result));
+        }
+
+        @Override
+        public CompletableFuture<List<BookResultDTO>> fetchByIds(Collection<Integer> ids) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+    }
+
+}
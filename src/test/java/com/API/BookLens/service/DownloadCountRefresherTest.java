@@ -0,0 +1,174 @@
+package com.API.BookLens.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.API.BookLens.dto.BookDTO;
+import com.API.BookLens.dto.BookResultDTO;
+import com.API.BookLens.model.Author;
+import com.API.BookLens.model.Book;
+import com.API.BookLens.model.RefreshCheckpoint;
+import com.API.BookLens.repository.AuthorRepository;
+import com.API.BookLens.repository.BookRepository;
+import com.API.BookLens.repository.RefreshCheckpointRepository;
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+@SpringBootTest(properties = {
+        "booklens.refresh.batch-size=10",
+        "booklens.refresh.concurrency=2",
+        "booklens.refresh.requests-per-second=1000"
+})
+class DownloadCountRefresherTest {
+
+    private static final int BOOKS = 95;
+
+    private static final Map<Integer, Integer> upstreamCounts = new ConcurrentHashMap<>();
+    private static final Set<Integer> requestedIds = ConcurrentHashMap.newKeySet();
+    private static volatile int failingId = -1;
+    private static HttpServer server;
+
+    @Autowired
+    private DownloadCountRefresher refresher;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private RefreshCheckpointRepository checkpointRepository;
+
+    @DynamicPropertySource
+    static void stubGutendex(DynamicPropertyRegistry registry) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/books/", DownloadCountRefresherTest::listing);
+        server.start();
+        registry.add("booklens.gutendex.base-url", () -> "http://localhost:" + server.getAddress().getPort() + "/books/");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        server.stop(0);
+    }
+
+    @BeforeEach
+    void seed() {
+        checkpointRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        authorRepository.deleteAllInBatch();
+        upstreamCounts.clear();
+        requestedIds.clear();
+        failingId = -1;
+
+        Author author = authorRepository.save(new Author("Author", 1800, 1870));
+        List<Book> books = new ArrayList<>();
+        for (int i = 1; i <= BOOKS; i++) {
+            Book book = new Book("Title " + i, author, "en", i);
+            book.setGutendexId((long) i);
+            books.add(book);
+            upstreamCounts.put(i, i % 2 == 0 ? i + 100 : i);
+        }
+        Book unknown = new Book("No Gutendex id", author, "en", 5);
+        books.add(unknown);
+        bookRepository.saveAll(books);
+    }
+
+    @Test
+    void updatesOnlyChangedCounts() throws InterruptedException {
+        DownloadCountRefresher.RefreshReport report = refresher.refresh();
+
+        assertThat(report.completed()).isTrue();
+        assertThat(report.batches()).isEqualTo(10);
+        assertThat(report.checked()).isEqualTo(BOOKS);
+        assertThat(report.updated()).isEqualTo(BOOKS / 2);
+        assertThat(requestedIds).hasSize(BOOKS);
+        for (Book book : bookRepository.findAll()) {
+            long expected = book.getGutendexId() == null ? 5 : upstreamCounts.get(book.getGutendexId().intValue());
+            assertThat(book.getNumberOfDownloads()).as(book.getTitle()).isEqualTo(expected);
+        }
+        assertThat(checkpointRepository.findById(DownloadCountRefresher.CHECKPOINT))
+                .hasValueSatisfying(checkpoint -> assertThat(checkpoint.getLastBookId()).isZero());
+    }
+
+    @Test
+    void resumesAfterTheCheckpoint() throws InterruptedException {
+        List<Long> ids = bookRepository.findDownloadCountsAfter(0L, Limit.of(BOOKS)).stream()
+                .map(row -> row.id())
+                .toList();
+        failingId = 45;
+
+        DownloadCountRefresher.RefreshReport failed = refresher.refresh();
+
+        assertThat(failed.completed()).isFalse();
+        assertThat(checkpointRepository.findById(DownloadCountRefresher.CHECKPOINT))
+                .hasValueSatisfying(checkpoint -> assertThat(checkpoint.getLastBookId()).isEqualTo(ids.get(39)));
+
+        failingId = -1;
+        requestedIds.clear();
+        DownloadCountRefresher.RefreshReport resumed = refresher.refresh();
+
+        assertThat(resumed.completed()).isTrue();
+        assertThat(resumed.checked()).isEqualTo(BOOKS - 40);
+        assertThat(requestedIds).hasSize(BOOKS - 40).allSatisfy(id -> assertThat(id).isGreaterThan(40));
+    }
+
+    @Test
+    void waitsForTheRestOfTheIntervalAfterACompletedPass() throws InterruptedException {
+        assertThat(refresher.untilNextPass(Instant.now())).isZero();
+
+        refresher.refresh();
+        Instant completed = checkpointRepository.findById(DownloadCountRefresher.CHECKPOINT).orElseThrow()
+                .getUpdatedAt();
+
+        assertThat(refresher.untilNextPass(completed.plus(Duration.ofHours(1)))).isEqualTo(Duration.ofHours(5));
+        assertThat(refresher.untilNextPass(completed.plus(Duration.ofHours(7)))).isZero();
+
+        checkpointRepository.save(new RefreshCheckpoint(DownloadCountRefresher.CHECKPOINT, 40, completed));
+        assertThat(refresher.untilNextPass(completed.plus(Duration.ofHours(1)))).isZero();
+    }
+
+    private static void listing(HttpExchange exchange) throws IOException {
+        String query = exchange.getRequestURI().getQuery();
+        List<Integer> ids = Arrays.stream(query.substring(query.indexOf("ids=") + 4).split(","))
+                .map(Integer::valueOf)
+                .toList();
+        if (ids.contains(failingId)) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        requestedIds.addAll(ids);
+        List<BookResultDTO> results = ids.stream()
+                .map(id -> new BookResultDTO(id, "Title " + id, List.of(), List.of("en"), upstreamCounts.get(id)))
+                .toList();
+        byte[] body = new Gson().toJson(new BookDTO(results.size(), null, null, results))
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+}
@@ -0,0 +1,164 @@
+package com.API.BookLens.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.API.BookLens.dto.AuthorDTO;
+import com.API.BookLens.dto.BookDTO;
+import com.API.BookLens.dto.BookResultDTO;
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpServer;
+
+class GutendexBookSourceTest {
+
+    private static final int SEARCHES = 1000;
+    private static final int CALLERS = 32;
+
+    private final AtomicInteger upstreamHits = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final Set<Thread> searchThreads = ConcurrentHashMap.newKeySet();
+    private HttpServer server;
+    private GutendexBookSource gutendex;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/books/", exchange -> {
+            upstreamHits.incrementAndGet();
+            try {
+                // hold the response until every search was issued, so all of them overlap
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            BookResultDTO result = new BookResultDTO(2701, "Moby Dick",
+                    List.of(new AuthorDTO("Melville, Herman", 1819, 1891)), List.of("en"), 100);
+            byte[] body = new Gson().toJson(new BookDTO(1, null, null, List.of(result)))
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        ApiClient client = new ApiClient(Duration.ofSeconds(30), 3, 8);
+        ResponseCache responseCache = new ResponseCache(address -> {
+            searchThreads.add(Thread.currentThread());
+            return client.get(address);
+        }, Duration.ofMinutes(1), Duration.ZERO, 1 << 20, null, Clock.systemUTC());
+        gutendex = new GutendexBookSource(client, responseCache,
+                "http://localhost:" + server.getAddress().getPort() + "/books/");
+    }
+
+    @AfterEach
+    void stopStub() {
+        gutendex.close();
+        server.stop(0);
+    }
+
+    @Test
+    void concurrentIdenticalSearchesShareOneRequest() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        List<Future<CompletableFuture<List<BookResultDTO>>>> issued = new ArrayList<>();
+        try {
+            for (int i = 0; i < SEARCHES; i++) {
+                // the same words, spelled differently
+                String query = i % 2 == 0 ? "moby dick" : " moby dick ";
+                issued.add(callers.submit(() -> {
+                    start.await();
+                    return gutendex.search(query);
+                }));
+            }
+            start.countDown();
+            List<CompletableFuture<List<BookResultDTO>>> searches = new ArrayList<>();
+            for (Future<CompletableFuture<List<BookResultDTO>>> search : issued) {
+                searches.add(search.get(30, TimeUnit.SECONDS));
+            }
+            release.countDown();
+
+            List<BookResultDTO> first = searches.get(0).get(30, TimeUnit.SECONDS);
+            assertThat(first).extracting(BookResultDTO::title).containsExactly("Moby Dick");
+            for (CompletableFuture<List<BookResultDTO>> search : searches) {
+                assertThat(search.get(30, TimeUnit.SECONDS)).isSameAs(first);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(upstreamHits.get()).isEqualTo(1);
+        assertThat(gutendex.getInFlightSearches().getStarted()).isEqualTo(1);
+        assertThat(gutendex.getInFlightSearches().getCoalesced()).isEqualTo(SEARCHES - 1);
+    }
+
+    @Test
+    void distinctSearchesShareABoundedPool() throws Exception {
+        List<CompletableFuture<List<BookResultDTO>>> searches = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            searches.add(gutendex.search("title " + i));
+        }
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (upstreamHits.get() < 8 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+        for (CompletableFuture<List<BookResultDTO>> search : searches) {
+            assertThat(search.get(30, TimeUnit.SECONDS)).hasSize(1);
+        }
+
+        assertThat(searchThreads).hasSize(8);
+        assertThat(upstreamHits.get()).isEqualTo(50);
+    }
+
+    @Test
+    void searchesAgainOnceTheSharedSearchFailed() throws Exception {
+        server.removeContext("/books/");
+        server.createContext("/books/", exchange -> {
+            upstreamHits.incrementAndGet();
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+
+        assertThat(gutendex.search("moby dick")).failsWithin(Duration.ofSeconds(30));
+        assertThat(gutendex.search("moby dick")).failsWithin(Duration.ofSeconds(30));
+
+        assertThat(gutendex.getInFlightSearches().getStarted()).isEqualTo(2);
+    }
+
+    @Test
+    void failsOnAnEmptyBody() {
+        server.removeContext("/books/");
+        server.createContext("/books/", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+
+        assertThat(gutendex.search("moby dick")).failsWithin(Duration.ofSeconds(30))
+                .withThrowableOfType(ExecutionException.class).withCauseInstanceOf(IOException.class);
+        assertThat(gutendex.fetchByIds(List.of(2701))).failsWithin(Duration.ofSeconds(30))
+                .withThrowableOfType(ExecutionException.class).withCauseInstanceOf(IOException.class);
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.API.BookLens.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.API.BookLens.dto.AuthorDTO;
+import com.API.BookLens.dto.BookDTO;
+import com.API.BookLens.dto.BookResultDTO;
+import com.API.BookLens.dto.PageInfoDTO;
+
+class JsonConverterTest {
+
+    @Test
+    void streamsTheSameResultsAsTheTreeParser() throws IOException {
+        String json = gutendexPage(32);
+        List<BookResultDTO> streamed = new ArrayList<>();
+
+        PageInfoDTO info = JsonConverter.streamResults(utf8(json), streamed::add);
+        BookDTO parsed = JsonConverter.fromJson(json, BookDTO.class);
+
+        assertThat(info).isEqualTo(new PageInfoDTO(parsed.count(), parsed.next(), parsed.previous()));
+        assertThat(streamed).isEqualTo(parsed.results());
+        assertThat(streamed.get(1).authors()).containsExactly(new AuthorDTO("Anonymous", null, null));
+    }
+
+    private static ByteArrayInputStream utf8(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Builds a listing page shaped like a real Gutendex response, including the
+     * fields the application does not map.
+     */
+    static String gutendexPage(int results) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"count\":").append(results * 10)
+                .append(",\"next\":\"https://gutendex.com/books/?page=2&search=a\",\"previous\":null,\"results\":[");
+        for (int i = 0; i < results; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            String authors = i % 2 == 1
+                    ? "{\"name\":\"Anonymous\",\"birth_year\":null,\"death_year\":null}"
+                    : "{\"name\":\"Author " + i + ", Some\",\"birth_year\":18" + (i % 90 + 10)
+                            + ",\"death_year\":19" + (i % 90 + 10) + "}";
+            json.append("{\"id\":").append(1000 + i)
+                    .append(",\"title\":\"Title number ").append(i).append(": a story \\u00e9\"")
+                    .append(",\"authors\":[").append(authors).append(']')
+                    .append(",\"translators\":[]")
+                    .append(",\"subjects\":[\"Fiction\",\"Adventure stories\",\"Sea stories\",\"Whaling -- Fiction\"]")
+                    .append(",\"bookshelves\":[\"Best Books Ever Listings\",\"Adventure\"]")
+                    .append(",\"languages\":[\"en\"]")
+                    .append(",\"copyright\":false,\"media_type\":\"Text\"")
+                    .append(",\"formats\":{")
+                    .append("\"text/html\":\"https://www.gutenberg.org/ebooks/").append(1000 + i).append(".html.images\",")
+                    .append("\"application/epub+zip\":\"https://www.gutenberg.org/ebooks/").append(1000 + i)
+                    .append(".epub3.images\",")
+                    .append("\"application/x-mobipocket-ebook\":\"https://www.gutenberg.org/ebooks/").append(1000 + i)
+                    .append(".kf8.images\",")
+                    .append("\"text/plain; charset=us-ascii\":\"https://www.gutenberg.org/ebooks/").append(1000 + i)
+                    .append(".txt.utf-8\",")
+                    .append("\"application/rdf+xml\":\"https://www.gutenberg.org/ebooks/").append(1000 + i).append(".rdf\",")
+                    .append("\"image/jpeg\":\"https://www.gutenberg.org/cache/epub/").append(1000 + i)
+                    .append("/pg").append(1000 + i).append(".cover.medium.jpg\"}")
+                    .append(",\"download_count\":").append(50_000 - i).append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+}
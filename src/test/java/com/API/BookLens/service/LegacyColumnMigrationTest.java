@@ -0,0 +1,83 @@
+package com.API.BookLens.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.API.BookLens.model.Author;
+import com.API.BookLens.model.Book;
+import com.API.BookLens.repository.AuthorRepository;
+import com.API.BookLens.repository.BookRepository;
+
+@SpringBootTest
+class LegacyColumnMigrationTest {
+
+    @Autowired
+    private LegacyColumnMigration migration;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void movesTheSingleAuthorAndLanguageColumnsIntoJoinTables() {
+        bookRepository.deleteAllInBatch();
+        authorRepository.deleteAllInBatch();
+        Author author = authorRepository.save(new Author("Author", 1800, 1870));
+        Book legacy = bookRepository.save(new Book("Legacy", List.of(), List.of(), 1));
+        jdbcTemplate.execute("ALTER TABLE books ADD COLUMN author_id BIGINT");
+        jdbcTemplate.execute("ALTER TABLE books ADD COLUMN language VARCHAR(255)");
+        jdbcTemplate.update("UPDATE books SET author_id = ?, language = 'pt' WHERE id = ?", author.getId(),
+                legacy.getId());
+
+        migration.migrate();
+        migration.migrate();
+
+        Book migrated = bookRepository.findPage(0L, Limit.of(1)).get(0);
+        assertThat(migrated.getAuthors()).extracting(Author::getName).containsExactly("Author");
+        assertThat(migrated.getLanguages()).containsExactly("pt");
+        assertThat(jdbcTemplate.queryForList("SELECT column_name FROM information_schema.columns"
+                + " WHERE table_name = 'books'", String.class)).doesNotContain("author_id", "language");
+    }
+
+    @Test
+    void seedsTheIdSequencesPastRowsStoredWithIdentityIds() {
+        bookRepository.deleteAllInBatch();
+        authorRepository.deleteAllInBatch();
+        // rows from the identity era take the ids the sequences hand out next
+        long firstBook = Math.max(1, nextValue("books_seq") - 49);
+        long firstAuthor = Math.max(1, nextValue("authors_seq") - 49);
+        for (int i = 0; i < 200; i++) {
+            jdbcTemplate.update("INSERT INTO books (id, title, number_of_downloads) VALUES (?, ?, ?)",
+                    firstBook + i, "Identity title " + i, i);
+            jdbcTemplate.update("INSERT INTO authors (id, name, date_of_birth_year, date_of_death_year)"
+                    + " VALUES (?, ?, 1800, 1870)", firstAuthor + i, "Identity, Author " + i);
+        }
+
+        migration.seedIdSequences();
+
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            books.add(new Book("Sequence title " + i, new Author("Sequence, Author " + i, 1900, 1970), "en", i));
+        }
+        authorRepository.saveAll(books.stream().flatMap(book -> book.getAuthors().stream()).toList());
+        bookRepository.saveAll(books);
+        assertThat(bookRepository.count()).isEqualTo(300);
+        assertThat(authorRepository.count()).isEqualTo(300);
+    }
+
+    private long nextValue(String sequence) {
+        return jdbcTemplate.queryForObject("SELECT base_value FROM information_schema.sequences"
+                + " WHERE sequence_name = ?", Long.class, sequence);
+    }
+
+}
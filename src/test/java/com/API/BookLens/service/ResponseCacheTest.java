@@ -0,0 +1,120 @@
+package com.API.BookLens.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResponseCacheTest {
+
+    private static final String ADDRESS = "https://gutendex.com/books/?search=moby%20dick";
+
+    private final MutableClock clock = new MutableClock();
+    private final AtomicInteger fetches = new AtomicInteger();
+    private volatile boolean upstreamDown;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void servesFreshResponsesWithoutFetching() throws Exception {
+        ResponseCache cache = newCache(null);
+
+        assertThat(cache.get(ADDRESS)).isEqualTo("response 1");
+        clock.advance(Duration.ofMinutes(59));
+        assertThat(cache.get(ADDRESS)).isEqualTo("response 1");
+        assertThat(fetches).hasValue(1);
+    }
+
+    @Test
+    void servesStaleResponsesWhileRevalidating() throws Exception {
+        ResponseCache cache = newCache(null);
+        cache.get(ADDRESS);
+
+        clock.advance(Duration.ofHours(2));
+        assertThat(cache.get(ADDRESS)).isEqualTo("response 1");
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!cache.get(ADDRESS).equals("response 2") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(cache.get(ADDRESS)).isEqualTo("response 2");
+        assertThat(fetches).hasValue(2);
+    }
+
+    @Test
+    void fallsBackToExpiredResponseWhenUpstreamFails() throws Exception {
+        ResponseCache cache = newCache(null);
+        cache.get(ADDRESS);
+
+        clock.advance(Duration.ofDays(2));
+        upstreamDown = true;
+
+        assertThat(cache.get(ADDRESS)).isEqualTo("response 1");
+    }
+
+    @Test
+    void survivesRestartsThroughTheDiskTier() throws Exception {
+        newCache(directory).get(ADDRESS);
+
+        ResponseCache restarted = newCache(directory);
+
+        assertThat(restarted.get(ADDRESS)).isEqualTo("response 1");
+        assertThat(fetches).hasValue(1);
+    }
+
+    @Test
+    void normalizesEquivalentAddresses() {
+        assertThat(ResponseCache.normalize("HTTPS://Gutendex.com:443/books/?search=moby+dick&page=2"))
+                .isEqualTo(ResponseCache.normalize("https://gutendex.com/books/?page=2&search=moby%20dick"))
+                .isEqualTo("https://gutendex.com/books/?page=2&search=moby%20dick");
+    }
+
+    private ResponseCache newCache(Path disk) {
+        return new ResponseCache(address -> {
+            if (upstreamDown) {
+                throw new IOException("upstream down");
+            }
+            return "response " + fetches.incrementAndGet();
+        }, Duration.ofHours(1), Duration.ofHours(24), 1 << 20, disk, clock);
+    }
+
+    private static final class MutableClock extends Clock {
+        private final AtomicLong millis = new AtomicLong(1_700_000_000_000L);
+
+        void advance(Duration duration) {
+            millis.addAndGet(duration.toMillis());
+        }
+
+        @Override
+        public long millis() {
+            return millis.get();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.API.BookLens.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import com.API.BookLens.dto.BookResponseDTO;
+import com.API.BookLens.dto.BookRowDTO;
+
+class SearchIndexTest {
+
+    private final SearchIndex index = new SearchIndex(null);
+
+    @Test
+    void foldsCaseAndAccents() {
+        index.add(List.of(book(1, "Les Misérables", "Hugo, Victor", 100)));
+
+        assertThat(index.search("MISERABLES", 10, false)).extracting(BookResponseDTO::id).containsExactly(1L);
+        assertThat(index.search("misérables hugo", 10, false)).extracting(BookResponseDTO::id).containsExactly(1L);
+        assertThat(SearchIndex.tokenize("Ærø, Straße: Œuvres-complètes")).containsExactly("ærø", "straße", "œuvres",
+                "completes");
+    }
+
+    @Test
+    void matchesEveryWordAndTheLastAsPrefix() {
+        index.add(List.of(book(1, "Moby Dick; Or, The Whale", "Melville, Herman", 100),
+                book(2, "Moby the Cat", "Someone, Else", 50)));
+
+        assertThat(index.search("moby di", 10, false)).extracting(BookResponseDTO::id).containsExactly(1L);
+        assertThat(index.search("moby", 10, false)).extracting(BookResponseDTO::id).containsExactly(1L, 2L);
+        assertThat(index.search("mob dick", 10, false)).isEmpty();
+        assertThat(index.search("moby whale cat", 10, false)).isEmpty();
+    }
+
+    @Test
+    void matchesAnyAuthorOfABook() {
+        index.add(List.of(new BookResponseDTO(1L, "The Federalist Papers",
+                List.of("Hamilton, Alexander", "Madison, James", "Jay, John"), List.of("en"), 100L)));
+
+        assertThat(index.search("federalist madison", 10, false)).extracting(BookResponseDTO::id)
+                .containsExactly(1L);
+        assertThat(index.search("jay hamilton", 10, false)).extracting(BookResponseDTO::id).containsExactly(1L);
+    }
+
+    @Test
+    void searchesTitlesWithoutTheAuthors() {
+        index.add(List.of(book(1, "Poems", "Lazarus, Emma", 100), book(2, "Emma", "Austen, Jane", 50)));
+
+        assertThat(index.search("emma", 10, false)).extracting(BookResponseDTO::id).containsExactly(1L, 2L);
+        assertThat(index.searchTitles("emma", 10)).extracting(BookResponseDTO::id).containsExactly(2L);
+        assertThat(index.searchTitles("poems laz", 10)).isEmpty();
+    }
+
+    @Test
+    void toleratesTyposOnlyWhenFuzzy() {
+        index.add(List.of(book(1, "Moby Dick; Or, The Whale", "Melville, Herman", 100)));
+
+        assertThat(index.search("mobi dick", 10, false)).isEmpty();
+        assertThat(index.search("mobi dick", 10, true)).extracting(BookResponseDTO::id).containsExactly(1L);
+        assertThat(index.search("melvile", 10, true)).extracting(BookResponseDTO::id).containsExactly(1L);
+        assertThat(index.search("docks", 10, true)).isEmpty();
+        assertThat(SearchIndex.distance("kitten", "sitting", 3)).isEqualTo(3);
+        assertThat(SearchIndex.distance("kitten", "sitting", 1)).isEqualTo(2);
+        assertThat(SearchIndex.distance("titel", "title", 2)).isEqualTo(1);
+    }
+
+    @Test
+    void ranksByDownloadsAndIgnoresRepeatedAdds() {
+        index.add(List.of(book(3, "Poems", "Poe", 10), book(1, "Poems II", "Poe", 30), book(2, "Poems III", "Poe", 20)));
+        index.add(List.of(book(1, "Poems II", "Poe", 30)));
+
+        assertThat(index.search("poems", 2, false)).extracting(BookResponseDTO::id).containsExactly(1L, 2L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void keepsAnsweringFromTheCurrentIndexWhileRebuilding() throws Exception {
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SearchIndex rebuilt = new SearchIndex(new CatalogStreamer(null) {
+            @Override
+            public long forEachBook(Consumer<BookRowDTO> action) {
+                action.accept(new BookRowDTO(2L, "Moby Dick", List.of(1L), List.of("Melville, Herman"),
+                        List.of("en"), 100L));
+                scanning.countDown();
+                try {
+                    release.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return 1;
+            }
+        });
+        rebuilt.add(List.of(book(1, "Moby the Cat", "Someone, Else", 50)));
+
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(rebuilt::rebuild);
+        assertThat(scanning.await(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(rebuilt.search("moby", 10, false)).extracting(BookResponseDTO::id).containsExactly(1L);
+        rebuilt.add(List.of(book(3, "Moby Dick Retold", "Someone, Else", 10)));
+        release.countDown();
+        rebuild.get(30, TimeUnit.SECONDS);
+
+        assertThat(rebuilt.search("moby", 10, false)).extracting(BookResponseDTO::id).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void replacesABookAddedAgain() {
+        index.add(List.of(book(1, "Emma", "Austen, Jane", 10), book(2, "Emma", "Someone, Else", 50)));
+
+        index.add(List.of(book(1, "Emma", "Austen, Jane", 100)));
+        assertThat(index.search("emma", 10, false)).extracting(BookResponseDTO::numberOfDownloads)
+                .containsExactly(100L, 50L);
+
+        index.add(List.of(book(1, "Persuasion", "Austen, Jane", 100)));
+        assertThat(index.search("emma", 10, false)).extracting(BookResponseDTO::id).containsExactly(2L);
+        assertThat(index.search("persuasion austen", 10, false)).extracting(BookResponseDTO::id)
+                .containsExactly(1L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void ranksByUpdatedDownloads() {
+        index.add(List.of(book(1, "Emma", "Austen, Jane", 10), book(2, "Emma", "Someone, Else", 50)));
+
+        index.updateDownloads(Map.of(1L, 90L, 3L, 70L));
+
+        assertThat(index.search("emma", 10, false)).extracting(BookResponseDTO::id).containsExactly(1L, 2L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    private static BookResponseDTO book(long id, String title, String author, long downloads) {
+        return new BookResponseDTO(id, title, List.of(author), List.of("en"), downloads);
+    }
+
+}